@@ -22,6 +22,11 @@ if [ $? -eq 0 ]; then
     echo "Copying resources..."
     mkdir -p bin/images
     cp -r resources/images bin/
+    cp resources/catalog.properties bin/
+    
+    # Build the catalog snapshot for fast startup
+    echo "Building catalog snapshot..."
+    java -cp bin com.furniture.patterns.CatalogSnapshot
     
     # Run the application
     echo "Running application..."
@@ -25,6 +25,11 @@ if %ERRORLEVEL% EQU 0 (
     echo Copying resources...
     if not exist bin\images mkdir bin\images
     xcopy resources\images bin\images /E /I /Y
+    copy /Y resources\catalog.properties bin\
+    
+    rem Build the catalog snapshot for fast startup
+    echo Building catalog snapshot...
+    java -cp bin com.furniture.patterns.CatalogSnapshot
     
     rem Run the application
     echo Running application...
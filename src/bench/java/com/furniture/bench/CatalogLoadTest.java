@@ -0,0 +1,146 @@
+package com.furniture.bench;
+
+import com.furniture.server.CatalogServer;
+import com.furniture.utils.LatencyStats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the catalog service on loopback. Client threads request the styles, a
+ * prototype, a scaled and a bundled image and a search in a loop for a fixed duration,
+ * then requests per second and latencies are reported.
+ * <p>
+ * Usage: {@code java -cp bin:build-bench com.furniture.bench.CatalogLoadTest [threads] [seconds] [base url]}
+ * <br>Without a base URL an embedded server is started on a free port.
+ */
+public class CatalogLoadTest {
+    // Defaults for the command-line arguments
+    private static final int DEFAULT_THREADS = 16;
+    private static final int DEFAULT_SECONDS = 10;
+
+    // Request paths, cycled through by every client thread
+    private static final String[] PATHS = {
+        "/api/styles",
+        "/api/prototypes/modern_chair",
+        "/api/prototypes/victorian_sofa/image?size=180",
+        "/images/modern/table.png",
+        "/api/search?q=clean",
+    };
+
+    private final String baseUrl;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final LatencyStats latency = new LatencyStats();
+
+    CatalogLoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Run the client threads until the duration has passed
+     */
+    void run(int threads, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            int offset = i;
+            clients.execute(() -> {
+                // Remember each path's ETag to make conditional requests after the first one
+                String[] etags = new String[PATHS.length];
+                for (int n = offset; System.nanoTime() < deadline; n++) {
+                    int path = n % PATHS.length;
+                    String etag = request(PATHS[path], etags[path]);
+                    if (etag != null) {
+                        etags[path] = etag;
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 30L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Perform one request, reading the whole response
+     * @return The ETag of the response, if any
+     */
+    private String request(String path, String etag) {
+        long start = System.nanoTime();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+            if (etag != null) {
+                connection.setRequestProperty("If-None-Match", etag);
+            }
+            int status = connection.getResponseCode();
+            if (status == 304) {
+                notModified.incrementAndGet();
+            } else if (status != 200) {
+                failures.incrementAndGet();
+            }
+            if (status != 304) {
+                try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                    if (in != null) {
+                        in.readAllBytes();
+                    }
+                }
+            }
+            latency.record(System.nanoTime() - start);
+            requests.incrementAndGet();
+            return connection.getHeaderField("ETag");
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Main method to run the load test
+     * @param args Optional thread count, duration in seconds and base URL
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS;
+
+        CatalogServer server = null;
+        String baseUrl;
+        if (args.length > 2) {
+            baseUrl = args[2];
+        } else {
+            server = new CatalogServer(0);
+            server.start();
+            baseUrl = "http://localhost:" + server.getPort();
+        }
+
+        try {
+            // Warm up the server and the JIT before measuring
+            new CatalogLoadTest(baseUrl).run(threads, 1);
+
+            CatalogLoadTest test = new CatalogLoadTest(baseUrl);
+            long start = System.nanoTime();
+            test.run(threads, seconds);
+            double elapsed = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%d requests in %.1f s with %d threads: %.0f requests/second",
+                    test.requests.get(), elapsed, threads, test.requests.get() / elapsed));
+            lines.add(String.format("%d not modified, %d failed", test.notModified.get(), test.failures.get()));
+            lines.add("Latency: " + test.latency);
+            lines.forEach(System.out::println);
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.furniture.bench;
+
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureSpec;
+import com.furniture.model.FurnitureType;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks copying furniture with copy constructors against the former Object.clone() path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CopyBenchmark {
+
+    /**
+     * Same fields as a catalog chair, copied the way every model used to: through Object.clone()
+     */
+    static final class ObjectCloneChair implements Cloneable {
+        final FurnitureSpec spec;
+        String nameOverride;
+        double priceOverride = Double.NaN;
+
+        ObjectCloneChair(FurnitureSpec spec) {
+            this.spec = spec;
+        }
+
+        @Override
+        public ObjectCloneChair clone() {
+            try {
+                return (ObjectCloneChair) super.clone();
+            } catch (CloneNotSupportedException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+    }
+
+    private Furniture prototype;
+    private ObjectCloneChair objectClonePrototype;
+
+    @Setup
+    public void setUp() {
+        prototype = FurniturePrototypeRegistry.getInstance().getClone(PrototypeKey.of("Modern", FurnitureType.CHAIR));
+        objectClonePrototype = new ObjectCloneChair(
+                FurnitureSpec.chair("Chair", "Benchmark chair", 100.0, "/images/modern/chair.png", 4, false));
+    }
+
+    @Benchmark
+    public Furniture copyConstructor() {
+        return prototype.clone();
+    }
+
+    @Benchmark
+    public ObjectCloneChair objectClone() {
+        return objectClonePrototype.clone();
+    }
+
+    @Benchmark
+    public Furniture withPrice() {
+        return prototype.withPrice(99.0);
+    }
+}
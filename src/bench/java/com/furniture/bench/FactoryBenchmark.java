@@ -0,0 +1,64 @@
+package com.furniture.bench;
+
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.model.Chair;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+import com.furniture.patterns.FactoryManager;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks furniture creation through the abstract factories of every style
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FactoryBenchmark {
+    @Param({"Modern", "Victorian", "Art Deco"})
+    public String style;
+
+    private FactoryManager factoryManager;
+    private FurnitureFactory factory;
+
+    @Setup
+    public void setUp() {
+        factoryManager = FactoryManager.getInstance();
+        factory = factoryManager.getFactory(style);
+    }
+
+    @Benchmark
+    public Chair createChair() {
+        return factory.createChair();
+    }
+
+    @Benchmark
+    public Sofa createSofa() {
+        return factory.createSofa();
+    }
+
+    @Benchmark
+    public Table createTable() {
+        return factory.createTable();
+    }
+
+    @Benchmark
+    public FurnitureFactory getFactory() {
+        return factoryManager.getFactory(style);
+    }
+}
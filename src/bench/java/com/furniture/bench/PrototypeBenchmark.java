@@ -0,0 +1,69 @@
+package com.furniture.bench;
+
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks prototype cloning through the registry, one call at a time and in bulk
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PrototypeBenchmark {
+    @Param({"1000", "100000"})
+    public int batchSize;
+
+    private FurniturePrototypeRegistry registry;
+    private PrototypeKey key;
+    private Furniture[] batch;
+
+    @Setup
+    public void setUp() {
+        registry = FurniturePrototypeRegistry.getInstance();
+        key = PrototypeKey.of("Modern", FurnitureType.CHAIR);
+        batch = new Furniture[batchSize];
+    }
+
+    @Benchmark
+    public Furniture getCloneByKey() {
+        return registry.getClone(key);
+    }
+
+    @Benchmark
+    public Furniture getCloneByString() {
+        return registry.getClone("modern_chair");
+    }
+
+    @Benchmark
+    public Furniture[] clonePerCall() {
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = registry.getClone(key);
+        }
+        return batch;
+    }
+
+    @Benchmark
+    public Furniture[] cloneInto() {
+        registry.cloneInto(key, batch);
+        return batch;
+    }
+}
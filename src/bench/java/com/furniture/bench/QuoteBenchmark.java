@@ -0,0 +1,58 @@
+package com.furniture.bench;
+
+import com.furniture.model.FurnitureType;
+import com.furniture.order.Order;
+import com.furniture.order.Quote;
+import com.furniture.order.QuoteEngine;
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks quoting large orders of mixed styles, types and quantities
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class QuoteBenchmark {
+    @Param({"1000", "1000000"})
+    public int lineCount;
+
+    private QuoteEngine engine;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        engine = new QuoteEngine();
+        String[] styles = {"Modern", "Victorian", "Art Deco"};
+        FurnitureType[] types = FurnitureType.values();
+        Random random = new Random(42);
+
+        order = new Order(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            PrototypeKey key = PrototypeKey.of(styles[random.nextInt(styles.length)], types[random.nextInt(types.length)]);
+            order.addLine(key, 1 + random.nextInt(20));
+        }
+    }
+
+    @Benchmark
+    public Quote quote() {
+        return engine.quote(order);
+    }
+}
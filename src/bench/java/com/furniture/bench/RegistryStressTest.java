@@ -0,0 +1,281 @@
+package com.furniture.bench;
+
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.model.Chair;
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+import com.furniture.patterns.FactoryManager;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-threaded stress test of the factory manager and the prototype registry.
+ * Readers look prototypes and factories up while writers register, replace and remove
+ * others; every check counts the lookups that saw a missing or stale value, and the test
+ * fails if any did.
+ * <p>
+ * Usage: {@code java -cp bin:build-bench com.furniture.bench.RegistryStressTest [threads] [rounds]}
+ */
+public final class RegistryStressTest {
+    private final int threads;
+    private final int rounds;
+    private int failures;
+
+    private RegistryStressTest(int threads, int rounds) {
+        this.threads = threads;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Run all checks
+     * @param args Optional reader thread count and number of writer rounds
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        RegistryStressTest test = new RegistryStressTest(threads, rounds);
+        test.concurrentFirstUse();
+        test.replaceWhileReading();
+        test.registerDistinctKeys();
+        test.poolAfterReplace();
+        test.factoriesWhileReading();
+
+        if (test.failures > 0) {
+            System.err.println(test.failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("All checks passed");
+    }
+
+    /**
+     * Every thread calling getInstance() at once gets the same, fully initialized instances
+     */
+    private void concurrentFirstUse() throws InterruptedException {
+        Set<Object> managers = ConcurrentHashMap.newKeySet();
+        Set<Object> registries = ConcurrentHashMap.newKeySet();
+        AtomicLong missing = new AtomicLong();
+        runConcurrently(() -> {
+            managers.add(FactoryManager.getInstance());
+            FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+            registries.add(registry);
+            if (registry.getClone(PrototypeKey.of("Modern", FurnitureType.CHAIR)) == null) {
+                missing.incrementAndGet();
+            }
+        });
+        check("concurrent first use", managers.size() == 1 && registries.size() == 1 && missing.get() == 0,
+                managers.size() + " managers, " + registries.size() + " registries, " + missing + " missing prototypes");
+    }
+
+    /**
+     * A key that is replaced over and over, alternating eager and lazy prototypes, is never seen
+     * as missing, and built-in keys stay readable throughout
+     */
+    private void replaceWhileReading() throws InterruptedException {
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        PrototypeKey key = PrototypeKey.of("race_sofa");
+        PrototypeKey builtIn = PrototypeKey.of("Victorian", FurnitureType.TABLE);
+        Furniture base = registry.getClone(PrototypeKey.of("Modern", FurnitureType.SOFA));
+        registry.register(key, base);
+
+        AtomicLong reads = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+        readWhile(() -> {
+            if (registry.getClone(key) == null || !registry.containsKey(key) || registry.getClone(builtIn) == null) {
+                missing.incrementAndGet();
+            }
+            reads.incrementAndGet();
+        }, () -> {
+            for (int i = 0; i < rounds; i++) {
+                String name = "Stress sofa " + i;
+                if (i % 2 == 0) {
+                    registry.registerLazy(key, () -> base.withName(name));
+                } else {
+                    registry.register(key, base.withName(name));
+                }
+            }
+        });
+
+        Furniture last = registry.getClone(key);
+        registry.unregister(key);
+        check("replace while reading", missing.get() == 0 && last != null
+                        && last.getName().equals("Stress sofa " + (rounds - 1)),
+                reads + " reads, " + missing + " missing, last " + (last != null ? last.getName() : null));
+    }
+
+    /**
+     * Keys registered by many threads at once are all present afterwards
+     */
+    private void registerDistinctKeys() throws InterruptedException {
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        Furniture base = registry.getClone(PrototypeKey.of("Modern", FurnitureType.TABLE));
+        int perThread = Math.max(1, rounds / threads);
+        AtomicLong next = new AtomicLong();
+        runConcurrently(() -> {
+            long thread = next.getAndIncrement();
+            for (int i = 0; i < perThread; i++) {
+                registry.register(PrototypeKey.of("race_" + thread + "_" + i), base);
+            }
+        });
+
+        int found = 0;
+        for (int thread = 0; thread < threads; thread++) {
+            for (int i = 0; i < perThread; i++) {
+                PrototypeKey key = PrototypeKey.of("race_" + thread + "_" + i);
+                if (registry.getClone(key) != null) {
+                    found++;
+                }
+                registry.unregister(key);
+            }
+        }
+        check("register distinct keys", found == threads * perThread,
+                found + " of " + threads * perThread + " keys found");
+    }
+
+    /**
+     * A pool requested while its prototype is replaced never keeps serving the old prototype
+     */
+    private void poolAfterReplace() throws InterruptedException {
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        PrototypeKey key = PrototypeKey.of("race_chair");
+        Furniture base = registry.getClone(PrototypeKey.of("Modern", FurnitureType.CHAIR));
+        registry.register(key, base);
+
+        int stale = 0;
+        int poolRounds = Math.max(1, rounds / 50);
+        for (int round = 0; round < poolRounds; round++) {
+            Furniture next = base.withName("Stress chair " + round);
+            Thread writer = new Thread(() -> registry.register(key, next));
+            Thread reader = new Thread(() -> registry.getPool(key));
+            reader.start();
+            writer.start();
+            writer.join();
+            reader.join();
+            if (registry.getPool(key).getPrototype() != next) {
+                stale++;
+            }
+        }
+        registry.unregister(key);
+        check("pool after replace", stale == 0, stale + " stale pools in " + poolRounds + " rounds");
+    }
+
+    /**
+     * Built-in factories stay readable while another style is registered and removed
+     */
+    private void factoriesWhileReading() throws InterruptedException {
+        FactoryManager manager = FactoryManager.getInstance();
+        FurnitureFactory modern = manager.getFactory("Modern");
+        AtomicLong reads = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+        readWhile(() -> {
+            if (manager.getFactory("modern") != modern || manager.getFactory("Victorian") == null) {
+                missing.incrementAndGet();
+            }
+            reads.incrementAndGet();
+        }, () -> {
+            FurnitureFactory stress = new StressFactory(modern);
+            for (int i = 0; i < rounds / 10; i++) {
+                manager.register(stress);
+                manager.unregister(stress);
+            }
+        });
+        check("factories while reading", missing.get() == 0 && manager.getFactory(StressFactory.STYLE) == null,
+                reads + " reads, " + missing + " missing");
+    }
+
+    /**
+     * Run a task on all threads at once and wait for them to finish
+     */
+    private void runConcurrently(Runnable task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                task.run();
+            });
+            workers[i].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    /**
+     * Repeat a read on all threads until the writer, run on the calling thread, is done
+     */
+    private void readWhile(Runnable read, Runnable writer) throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        Thread[] readers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            readers[i] = new Thread(() -> {
+                while (!done.get()) {
+                    read.run();
+                }
+            });
+            readers[i].start();
+        }
+        try {
+            writer.run();
+        } finally {
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+    }
+
+    private void check(String name, boolean passed, String details) {
+        System.out.println((passed ? "PASS " : "FAIL ") + name + ": " + details);
+        if (!passed) {
+            failures++;
+        }
+    }
+
+    /**
+     * Factory of a throwaway style that creates the furniture of another factory
+     */
+    private static class StressFactory implements FurnitureFactory {
+        static final String STYLE = "Stress";
+
+        private final FurnitureFactory factory;
+
+        StressFactory(FurnitureFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Chair createChair() {
+            return factory.createChair();
+        }
+
+        @Override
+        public Sofa createSofa() {
+            return factory.createSofa();
+        }
+
+        @Override
+        public Table createTable() {
+            return factory.createTable();
+        }
+
+        @Override
+        public String getStyleName() {
+            return STYLE;
+        }
+    }
+}
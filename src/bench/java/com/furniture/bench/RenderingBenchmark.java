@@ -0,0 +1,72 @@
+package com.furniture.bench;
+
+import com.furniture.model.Furniture;
+import com.furniture.patterns.FactoryManager;
+import com.furniture.ui.FurniturePanel;
+import com.furniture.utils.ImageGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks displaying furniture in the panel and generating furniture images
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderingBenchmark {
+    private FurniturePanel panel;
+    private Furniture chair;
+    private Furniture sofa;
+    private String outputPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        panel = new FurniturePanel();
+        chair = FactoryManager.getInstance().getFactory("Modern").createChair();
+        sofa = FactoryManager.getInstance().getFactory("Victorian").createSofa();
+        
+        File outputDir = Files.createTempDirectory("furniture-bench").toFile();
+        outputDir.deleteOnExit();
+        outputPath = new File(outputDir, "image.png").getPath();
+    }
+
+    @Benchmark
+    public FurniturePanel displayFurniture() {
+        // Alternate types so the type-specific details change on every call
+        panel.displayFurniture(chair);
+        panel.displayFurniture(sofa);
+        return panel;
+    }
+
+    @Benchmark
+    public void generateChairImage() {
+        ImageGenerator.generateChairImage("Modern", outputPath);
+    }
+
+    @Benchmark
+    public void generateSofaImage() {
+        ImageGenerator.generateSofaImage("Victorian", outputPath);
+    }
+
+    @Benchmark
+    public void generateTableImage() {
+        ImageGenerator.generateTableImage("Art Deco", outputPath);
+    }
+}
@@ -0,0 +1,89 @@
+package com.furniture.factory;
+
+import com.furniture.model.Chair;
+import com.furniture.model.FurnitureType;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+
+/**
+ * Decorator that adds a production capacity to a furniture factory.
+ * Each furniture type has its own token bucket; an order reserves capacity with
+ * {@link #tryReserve} before its furniture is created. Creating furniture is not
+ * limited itself, so the factory can still be used wherever a plain one is expected.
+ */
+public class CapacityLimitedFactory implements FurnitureFactory {
+    private final FurnitureFactory factory;
+
+    // Production capacity per furniture type, indexed by ordinal
+    private final StripedTokenBucket[] capacity;
+
+    /**
+     * Wrap a factory with the same capacity for every furniture type
+     * @param factory The factory to wrap
+     * @param unitsPerSecond The number of units of each type produced per second
+     * @param burst The number of units of each type that can be reserved at once
+     */
+    public CapacityLimitedFactory(FurnitureFactory factory, long unitsPerSecond, long burst) {
+        this.factory = factory;
+        this.capacity = new StripedTokenBucket[FurnitureType.values().length];
+        for (FurnitureType type : FurnitureType.values()) {
+            capacity[type.ordinal()] = new StripedTokenBucket(unitsPerSecond, burst);
+        }
+    }
+
+    /**
+     * Reserve production capacity without blocking
+     * @param type The furniture type
+     * @param quantity The number of units
+     * @return True if the capacity was reserved, false if the order must be rejected
+     */
+    public boolean tryReserve(FurnitureType type, int quantity) {
+        return capacity[type.ordinal()].tryAcquire(quantity);
+    }
+
+    /**
+     * Return reserved capacity that will not be used
+     * @param type The furniture type
+     * @param quantity The number of units
+     */
+    public void release(FurnitureType type, int quantity) {
+        capacity[type.ordinal()].release(quantity);
+    }
+
+    /**
+     * Get the capacity that can currently be reserved
+     * @param type The furniture type
+     * @return The number of units
+     */
+    public long getAvailableCapacity(FurnitureType type) {
+        return capacity[type.ordinal()].getAvailableTokens();
+    }
+
+    /**
+     * Get the wrapped factory
+     * @return The factory
+     */
+    public FurnitureFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public Chair createChair() {
+        return factory.createChair();
+    }
+
+    @Override
+    public Sofa createSofa() {
+        return factory.createSofa();
+    }
+
+    @Override
+    public Table createTable() {
+        return factory.createTable();
+    }
+
+    @Override
+    public String getStyleName() {
+        return factory.getStyleName();
+    }
+}
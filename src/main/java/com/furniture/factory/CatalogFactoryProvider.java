@@ -0,0 +1,21 @@
+package com.furniture.factory;
+
+import com.furniture.model.FurnitureCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Built-in provider with a factory for every style in the bundled furniture catalog
+ */
+public class CatalogFactoryProvider implements FurnitureFactoryProvider {
+
+    @Override
+    public List<FurnitureFactory> getFactories() {
+        List<FurnitureFactory> factories = new ArrayList<>();
+        for (FurnitureCatalog.Style style : FurnitureCatalog.getDefault().getStyles()) {
+            factories.add(new CatalogFurnitureFactory(style));
+        }
+        return factories;
+    }
+}
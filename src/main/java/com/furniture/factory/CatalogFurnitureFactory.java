@@ -0,0 +1,70 @@
+package com.furniture.factory;
+
+import com.furniture.model.CatalogChair;
+import com.furniture.model.CatalogSofa;
+import com.furniture.model.CatalogTable;
+import com.furniture.model.Chair;
+import com.furniture.model.FurnitureCatalog;
+import com.furniture.model.FurnitureSpec;
+import com.furniture.model.FurnitureType;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+
+/**
+ * Concrete factory that creates the furniture of one catalog style
+ */
+public class CatalogFurnitureFactory implements FurnitureFactory {
+    private final String styleName;
+    private final FurnitureSpec chairSpec;
+    private final FurnitureSpec sofaSpec;
+    private final FurnitureSpec tableSpec;
+    
+    /**
+     * Create a factory for a catalog style
+     * @param style The style whose furniture this factory creates
+     */
+    public CatalogFurnitureFactory(FurnitureCatalog.Style style) {
+        this.styleName = style.getName();
+        this.chairSpec = style.getSpec(FurnitureType.CHAIR);
+        this.sofaSpec = style.getSpec(FurnitureType.SOFA);
+        this.tableSpec = style.getSpec(FurnitureType.TABLE);
+    }
+    
+    @Override
+    public Chair createChair() {
+        return new CatalogChair(chairSpec);
+    }
+
+    @Override
+    public Sofa createSofa() {
+        return new CatalogSofa(sofaSpec);
+    }
+
+    @Override
+    public Table createTable() {
+        return new CatalogTable(tableSpec);
+    }
+    
+    @Override
+    public String getStyleName() {
+        return styleName;
+    }
+    
+    /**
+     * Get the catalog spec of the furniture this factory creates
+     * @param type The furniture type
+     * @return The spec
+     */
+    public FurnitureSpec getSpec(FurnitureType type) {
+        switch (type) {
+            case CHAIR:
+                return chairSpec;
+            case SOFA:
+                return sofaSpec;
+            case TABLE:
+                return tableSpec;
+            default:
+                throw new IllegalArgumentException("Unknown furniture type: " + type);
+        }
+    }
+}
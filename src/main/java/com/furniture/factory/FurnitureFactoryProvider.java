@@ -0,0 +1,18 @@
+package com.furniture.factory;
+
+import java.util.List;
+
+/**
+ * Service interface for plugins that contribute furniture styles.
+ * A plugin jar lists its implementation in
+ * {@code META-INF/services/com.furniture.factory.FurnitureFactoryProvider}
+ * and is dropped into the plugin directory; see {@code FactoryManager}.
+ */
+public interface FurnitureFactoryProvider {
+    /**
+     * Create the factories of the styles this provider contributes.
+     * Called once per load on a plugin loading thread, possibly in parallel with other providers.
+     * @return The factories, one per style
+     */
+    List<FurnitureFactory> getFactories();
+}
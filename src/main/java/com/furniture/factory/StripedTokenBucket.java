@@ -0,0 +1,201 @@
+package com.furniture.factory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token bucket split into independent stripes, like a LongAdder for tokens.
+ * Each thread starts at its own stripe, so concurrent callers rarely compete for the same
+ * counter. Every stripe refills at its share of the rate and holds its share of the burst,
+ * the remainders going one token each to the first stripes so the stripes add up to the whole bucket;
+ * a request larger than the home stripe can hold gathers tokens from the other stripes and
+ * returns them if the bucket as a whole cannot cover it. All operations are non-blocking.
+ */
+public final class StripedTokenBucket {
+    // Longs per stripe: the token count and the time of the last refill, padded to a 64-byte cache line
+    private static final int STRIPE_STRIDE = 8;
+    private static final int TOKENS = 0;
+    private static final int LAST_REFILL = 1;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // Random per-thread probe choosing the home stripe; unlike thread ids, it spreads virtual threads too
+    private static final ThreadLocal<Integer> PROBE = ThreadLocal.withInitial(() -> ThreadLocalRandom.current().nextInt());
+
+    private final int stripeCount;
+    private final int stripeMask;
+    private final AtomicLongArray stripes;
+
+    // Maximum tokens and refill interval of each stripe
+    private final long[] stripeBursts;
+    private final long[] nanosPerToken;
+
+    // Largest burst of any stripe
+    private final long maxStripeBurst;
+
+    /**
+     * Create a full bucket
+     * @param tokensPerSecond The refill rate of the whole bucket, at least 1
+     * @param burst The maximum number of tokens the whole bucket holds, at least 1
+     */
+    public StripedTokenBucket(long tokensPerSecond, long burst) {
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive: " + tokensPerSecond + ", " + burst);
+        }
+
+        // One stripe per core, rounded down to a power of two, but never more stripes than tokens
+        int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors());
+        while (stripes > 1 && (stripes > burst || stripes > tokensPerSecond)) {
+            stripes >>= 1;
+        }
+        this.stripeCount = stripes;
+        this.stripeMask = stripes - 1;
+        this.stripeBursts = new long[stripes];
+        this.nanosPerToken = new long[stripes];
+        this.stripes = new AtomicLongArray(stripes * STRIPE_STRIDE);
+
+        long now = System.nanoTime();
+        for (int i = 0; i < stripes; i++) {
+            stripeBursts[i] = share(burst, stripes, i);
+            nanosPerToken[i] = Math.max(1L, NANOS_PER_SECOND / share(tokensPerSecond, stripes, i));
+            this.stripes.set(i * STRIPE_STRIDE + TOKENS, stripeBursts[i]);
+            this.stripes.set(i * STRIPE_STRIDE + LAST_REFILL, now);
+        }
+        this.maxStripeBurst = stripeBursts[0];
+    }
+
+    /**
+     * Split a total over the stripes, giving one more to each of the first {@code total % stripes}
+     * @return The share of the stripe
+     */
+    private static long share(long total, int stripes, int stripe) {
+        return total / stripes + (stripe < total % stripes ? 1 : 0);
+    }
+
+    /**
+     * Take tokens if the bucket holds enough, without blocking
+     * @param tokens The number of tokens to take
+     * @return True if the tokens were taken, false if the bucket cannot cover them right now
+     */
+    public boolean tryAcquire(long tokens) {
+        if (tokens <= 0) {
+            throw new IllegalArgumentException("Token count must be positive: " + tokens);
+        }
+        long now = System.nanoTime();
+        int home = homeStripe();
+
+        // Fast path: one stripe covers the whole request
+        if (tokens <= maxStripeBurst) {
+            for (int i = 0; i < stripeCount; i++) {
+                if (takeUpTo((home + i) & stripeMask, tokens, now, true) == tokens) {
+                    return true;
+                }
+            }
+        }
+
+        // Slow path: gather from all stripes, giving everything back if there is not enough
+        long taken = 0;
+        long[] takenPerStripe = new long[stripeCount];
+        for (int i = 0; i < stripeCount && taken < tokens; i++) {
+            int stripe = (home + i) & stripeMask;
+            takenPerStripe[stripe] = takeUpTo(stripe, tokens - taken, now, false);
+            taken += takenPerStripe[stripe];
+        }
+        if (taken == tokens) {
+            return true;
+        }
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            if (takenPerStripe[stripe] > 0) {
+                give(stripe, takenPerStripe[stripe]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return tokens that were acquired but not used, e.g. for a cancelled order
+     * @param tokens The number of tokens to return
+     */
+    public void release(long tokens) {
+        if (tokens <= 0) {
+            throw new IllegalArgumentException("Token count must be positive: " + tokens);
+        }
+        int home = homeStripe();
+        for (int i = 0; i < stripeCount && tokens > 0; i++) {
+            tokens -= give((home + i) & stripeMask, tokens);
+        }
+    }
+
+    /**
+     * Get the tokens currently available, as a snapshot across stripes
+     * @return The available token count
+     */
+    public long getAvailableTokens() {
+        long now = System.nanoTime();
+        long total = 0;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            refill(stripe, now);
+            total += stripes.get(stripe * STRIPE_STRIDE + TOKENS);
+        }
+        return total;
+    }
+
+    private int homeStripe() {
+        return PROBE.get() & stripeMask;
+    }
+
+    /**
+     * Take tokens from one stripe
+     * @param all If true, take either all requested tokens or none; otherwise take as many as it holds
+     * @return The number of tokens taken
+     */
+    private long takeUpTo(int stripe, long tokens, long now, boolean all) {
+        refill(stripe, now);
+        int index = stripe * STRIPE_STRIDE + TOKENS;
+        long available;
+        long taken;
+        do {
+            available = stripes.get(index);
+            taken = Math.min(available, tokens);
+            if (taken <= 0 || (all && taken < tokens)) {
+                return 0;
+            }
+        } while (!stripes.weakCompareAndSetVolatile(index, available, available - taken));
+        return taken;
+    }
+
+    /**
+     * Add tokens to one stripe up to its burst
+     * @return The number of tokens added
+     */
+    private long give(int stripe, long tokens) {
+        int index = stripe * STRIPE_STRIDE + TOKENS;
+        long available;
+        long added;
+        do {
+            available = stripes.get(index);
+            added = Math.min(tokens, stripeBursts[stripe] - available);
+            if (added <= 0) {
+                return 0;
+            }
+        } while (!stripes.weakCompareAndSetVolatile(index, available, available + added));
+        return added;
+    }
+
+    /**
+     * Add the tokens earned since the last refill. The thread that advances the refill
+     * time adds the tokens, so concurrent callers never count the same interval twice.
+     */
+    private void refill(int stripe, long now) {
+        int index = stripe * STRIPE_STRIDE + LAST_REFILL;
+        long last = stripes.get(index);
+        long earned = (now - last) / nanosPerToken[stripe];
+        if (earned <= 0) {
+            return;
+        }
+        // Advance only by the time actually converted into tokens, so no fraction is lost
+        if (stripes.compareAndSet(index, last, last + earned * nanosPerToken[stripe])) {
+            give(stripe, earned);
+        }
+    }
+}
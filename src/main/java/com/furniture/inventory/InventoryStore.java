@@ -0,0 +1,279 @@
+package com.furniture.inventory;
+
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
+import com.furniture.patterns.FactoryManager;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+import com.furniture.utils.Money;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock levels per style, furniture type and warehouse, stored in primitive columns.
+ * <p>
+ * Every stock item has a compact id, {@code (style * 3 + type) * warehouses + warehouse},
+ * where the style index comes from the factory styles known when the store is created.
+ * The available and reserved counts of an item are packed into one long of an
+ * {@link AtomicLongArray}, one 64-byte cell per item so threads working on different items
+ * never contend for the same cache line. Every operation is a single lock-free
+ * compare-and-set on that long, so both counts always change together and there is no global lock.
+ */
+public class InventoryStore {
+    // Longs per cell: the packed counts, padded to a 64-byte cache line
+    private static final int CELL_STRIDE = 8;
+
+    // The available count is stored in the high 32 bits of a cell, the reserved count in the low 32 bits
+    private static final int AVAILABLE_SHIFT = 32;
+    private static final long RESERVED_MASK = 0xFFFFFFFFL;
+
+    private static final int TYPE_COUNT = FurnitureType.values().length;
+
+    // Style keys (lower case, as in FactoryManager) in id order, and the index of each
+    private final List<String> styles;
+    private final Map<String, Integer> styleIndex = new HashMap<>();
+
+    // Warehouse names in id order, and the index of each
+    private final List<String> warehouses;
+    private final Map<String, Integer> warehouseIndex = new HashMap<>();
+
+    // Packed available and reserved count of every item
+    private final AtomicLongArray counts;
+
+    // Catalog unit price of every item in cents
+    private final long[] unitPriceCents;
+
+    /**
+     * Create an empty store for all factory styles in the given warehouses
+     * @param warehouses The warehouse names
+     */
+    public InventoryStore(List<String> warehouses) {
+        if (warehouses.isEmpty()) {
+            throw new IllegalArgumentException("Inventory needs at least one warehouse");
+        }
+
+        List<String> styleNames = new ArrayList<>(FactoryManager.getInstance().getAllFactories().keySet());
+        Collections.sort(styleNames);
+        this.styles = Collections.unmodifiableList(styleNames);
+        for (int i = 0; i < styleNames.size(); i++) {
+            styleIndex.put(styleNames.get(i), i);
+        }
+
+        this.warehouses = Collections.unmodifiableList(new ArrayList<>(warehouses));
+        for (int i = 0; i < warehouses.size(); i++) {
+            if (warehouseIndex.put(warehouses.get(i).toLowerCase(), i) != null) {
+                throw new IllegalArgumentException("Duplicate warehouse: " + warehouses.get(i));
+            }
+        }
+
+        int itemCount = styles.size() * TYPE_COUNT * warehouses.size();
+        counts = new AtomicLongArray(itemCount * CELL_STRIDE);
+        unitPriceCents = new long[itemCount];
+
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        for (int style = 0; style < styles.size(); style++) {
+            for (FurnitureType type : FurnitureType.values()) {
+                Furniture prototype = registry.getClone(PrototypeKey.of(styles.get(style), type));
+                long cents = prototype != null ? Money.toCents(prototype.getPrice()) : 0L;
+                for (int warehouse = 0; warehouse < warehouses.size(); warehouse++) {
+                    unitPriceCents[toId(style, type.ordinal(), warehouse)] = cents;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the id of a stock item
+     * @param style The style name in any case, e.g. "Art Deco"
+     * @param type The furniture type
+     * @param warehouse The warehouse name in any case
+     * @return The item id, or -1 if the style or warehouse is unknown
+     */
+    public int getId(String style, FurnitureType type, String warehouse) {
+        Integer s = styleIndex.get(style.toLowerCase());
+        Integer w = warehouseIndex.get(warehouse.toLowerCase());
+        if (s == null || w == null) {
+            return -1;
+        }
+        return toId(s, type.ordinal(), w);
+    }
+
+    private int toId(int style, int type, int warehouse) {
+        return (style * TYPE_COUNT + type) * warehouses.size() + warehouse;
+    }
+
+    /**
+     * Get the number of stock items, so valid ids run from 0 to getItemCount() - 1
+     * @return The item count
+     */
+    public int getItemCount() {
+        return unitPriceCents.length;
+    }
+
+    public List<String> getStyles() {
+        return styles;
+    }
+
+    public List<String> getWarehouses() {
+        return warehouses;
+    }
+
+    public String getStyle(int id) {
+        return styles.get(id / warehouses.size() / TYPE_COUNT);
+    }
+
+    public FurnitureType getType(int id) {
+        return FurnitureType.values()[id / warehouses.size() % TYPE_COUNT];
+    }
+
+    public String getWarehouse(int id) {
+        return warehouses.get(id % warehouses.size());
+    }
+
+    /**
+     * Get the number of items that can still be reserved
+     * @param id The item id
+     * @return The available count
+     */
+    public int getAvailable(int id) {
+        return available(counts.get(cell(id)));
+    }
+
+    /**
+     * Get the number of items reserved but not yet shipped
+     * @param id The item id
+     * @return The reserved count
+     */
+    public int getReserved(int id) {
+        return reserved(counts.get(cell(id)));
+    }
+
+    /**
+     * Add received stock
+     * @param id The item id
+     * @param quantity The number of items received
+     */
+    public void receive(int id, int quantity) {
+        checkQuantity(quantity);
+        int cell = cell(id);
+        long current;
+        long next;
+        do {
+            current = counts.get(cell);
+            next = pack(Math.addExact(available(current), quantity), reserved(current));
+        } while (!counts.weakCompareAndSetVolatile(cell, current, next));
+    }
+
+    /**
+     * Reserve stock if enough is available
+     * @param id The item id
+     * @param quantity The number of items to reserve
+     * @return True if the items were reserved, false if not enough were available
+     */
+    public boolean tryReserve(int id, int quantity) {
+        checkQuantity(quantity);
+        int cell = cell(id);
+        long current;
+        long next;
+        do {
+            current = counts.get(cell);
+            int available = available(current);
+            if (available < quantity) {
+                return false;
+            }
+            next = pack(available - quantity, Math.addExact(reserved(current), quantity));
+        } while (!counts.weakCompareAndSetVolatile(cell, current, next));
+        return true;
+    }
+
+    /**
+     * Return reserved stock, e.g. for a cancelled order
+     * @param id The item id
+     * @param quantity The number of reserved items to return
+     */
+    public void release(int id, int quantity) {
+        checkQuantity(quantity);
+        takeReserved(cell(id), quantity, true);
+    }
+
+    /**
+     * Remove reserved stock that has been shipped
+     * @param id The item id
+     * @param quantity The number of reserved items shipped
+     */
+    public void ship(int id, int quantity) {
+        checkQuantity(quantity);
+        takeReserved(cell(id), quantity, false);
+    }
+
+    /**
+     * Get the catalog value of all available and reserved stock
+     * @return The stock value in cents
+     */
+    public long getStockValueCents() {
+        long total = 0;
+        for (int id = 0; id < unitPriceCents.length; id++) {
+            long packed = counts.get(id * CELL_STRIDE);
+            long quantity = (long) available(packed) + reserved(packed);
+            total += quantity * unitPriceCents[id];
+        }
+        return total;
+    }
+
+    /**
+     * Get the catalog unit price of an item
+     * @param id The item id
+     * @return The unit price in cents
+     */
+    public long getUnitPriceCents(int id) {
+        return unitPriceCents[id];
+    }
+
+    private int cell(int id) {
+        if (id < 0 || id >= unitPriceCents.length) {
+            throw new IllegalArgumentException("Unknown inventory item: " + id);
+        }
+        return id * CELL_STRIDE;
+    }
+
+    private static void checkQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+    }
+
+    /**
+     * Take from the reserved count, failing if fewer items are reserved
+     * @param toAvailable True to return the items to the available count, false if they leave the store
+     */
+    private void takeReserved(int cell, int quantity, boolean toAvailable) {
+        long current;
+        long next;
+        do {
+            current = counts.get(cell);
+            int reserved = reserved(current);
+            if (reserved < quantity) {
+                throw new IllegalStateException("Only " + reserved + " items reserved, cannot take " + quantity);
+            }
+            int available = toAvailable ? Math.addExact(available(current), quantity) : available(current);
+            next = pack(available, reserved - quantity);
+        } while (!counts.weakCompareAndSetVolatile(cell, current, next));
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << AVAILABLE_SHIFT) | (reserved & RESERVED_MASK);
+    }
+
+    private static int available(long packed) {
+        return (int) (packed >>> AVAILABLE_SHIFT);
+    }
+
+    private static int reserved(long packed) {
+        return (int) (packed & RESERVED_MASK);
+    }
+}
@@ -0,0 +1,101 @@
+package com.furniture.model;
+
+import java.awt.Image;
+
+/**
+ * Base class for furniture backed by a shared {@link FurnitureSpec}.
+ * Instances hold a reference to the flyweight plus an optional per-order name and price.
+ * <p>
+ * Copies share the spec and its cached images, which are immutable, and copy the name
+ * and price, which are immutable values. A copy is therefore independent of its source
+ * without copying any catalog data.
+ */
+public abstract class AbstractFurniture implements Furniture {
+    // Shared catalog data for this style and type
+    protected final FurnitureSpec spec;
+
+    // Per-order name and price; a null name or NaN price means the catalog value applies
+    private String nameOverride;
+    private double priceOverride = Double.NaN;
+
+    protected AbstractFurniture(FurnitureSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Copy constructor
+     * @param source The furniture to copy
+     */
+    protected AbstractFurniture(AbstractFurniture source) {
+        this.spec = source.spec;
+        this.nameOverride = source.nameOverride;
+        this.priceOverride = source.priceOverride;
+    }
+
+    /**
+     * Get the shared catalog data backing this furniture
+     * @return The furniture specification
+     */
+    public FurnitureSpec getSpec() {
+        return spec;
+    }
+
+    @Override
+    public String getName() {
+        return nameOverride != null ? nameOverride : spec.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return spec.getDescription();
+    }
+
+    @Override
+    public double getPrice() {
+        return Double.isNaN(priceOverride) ? spec.getPrice() : priceOverride;
+    }
+
+    @Override
+    public Image getImage() {
+        return spec.getImage();
+    }
+    
+    @Override
+    public Image getImage(int size) {
+        return spec.getImage(size);
+    }
+
+    @Override
+    public Furniture withName(String name) {
+        AbstractFurniture copy = copy();
+        copy.nameOverride = name;
+        return copy;
+    }
+
+    @Override
+    public Furniture withPrice(double price) {
+        if (price < 0 || !Double.isFinite(price)) {
+            throw new IllegalArgumentException("Price must be finite and not negative: " + price);
+        }
+        AbstractFurniture copy = copy();
+        copy.priceOverride = price;
+        return copy;
+    }
+
+    @Override
+    public void reset() {
+        nameOverride = null;
+        priceOverride = Double.NaN;
+    }
+    
+    /**
+     * Copy this furniture with its copy constructor
+     * @return An independent copy of the same concrete type
+     */
+    protected abstract AbstractFurniture copy();
+    
+    @Override
+    public Furniture clone() {
+        return copy();
+    }
+}
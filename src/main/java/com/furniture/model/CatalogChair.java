@@ -0,0 +1,34 @@
+package com.furniture.model;
+
+/**
+ * Chair implementation backed by catalog data, shared by every style
+ */
+public class CatalogChair extends AbstractFurniture implements Chair {
+    
+    public CatalogChair(FurnitureSpec spec) {
+        super(spec);
+    }
+    
+    /**
+     * Copy constructor
+     * @param source The chair to copy
+     */
+    public CatalogChair(CatalogChair source) {
+        super(source);
+    }
+    
+    @Override
+    protected CatalogChair copy() {
+        return new CatalogChair(this);
+    }
+    
+    @Override
+    public int getNumberOfLegs() {
+        return spec.getNumberOfLegs();
+    }
+    
+    @Override
+    public boolean hasArmrests() {
+        return spec.hasArmrests();
+    }
+}
\ No newline at end of file
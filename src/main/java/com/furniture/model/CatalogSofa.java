@@ -0,0 +1,34 @@
+package com.furniture.model;
+
+/**
+ * Sofa implementation backed by catalog data, shared by every style
+ */
+public class CatalogSofa extends AbstractFurniture implements Sofa {
+    
+    public CatalogSofa(FurnitureSpec spec) {
+        super(spec);
+    }
+    
+    /**
+     * Copy constructor
+     * @param source The sofa to copy
+     */
+    public CatalogSofa(CatalogSofa source) {
+        super(source);
+    }
+    
+    @Override
+    protected CatalogSofa copy() {
+        return new CatalogSofa(this);
+    }
+    
+    @Override
+    public int getNumberOfSeats() {
+        return spec.getNumberOfSeats();
+    }
+    
+    @Override
+    public boolean isConvertible() {
+        return spec.isConvertible();
+    }
+}
\ No newline at end of file
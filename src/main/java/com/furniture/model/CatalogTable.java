@@ -0,0 +1,34 @@
+package com.furniture.model;
+
+/**
+ * Table implementation backed by catalog data, shared by every style
+ */
+public class CatalogTable extends AbstractFurniture implements Table {
+    
+    public CatalogTable(FurnitureSpec spec) {
+        super(spec);
+    }
+    
+    /**
+     * Copy constructor
+     * @param source The table to copy
+     */
+    public CatalogTable(CatalogTable source) {
+        super(source);
+    }
+    
+    @Override
+    protected CatalogTable copy() {
+        return new CatalogTable(this);
+    }
+    
+    @Override
+    public int getNumberOfLegs() {
+        return spec.getNumberOfLegs();
+    }
+    
+    @Override
+    public double getSurfaceArea() {
+        return spec.getSurfaceArea();
+    }
+}
\ No newline at end of file
@@ -10,5 +10,37 @@ public interface Furniture extends Cloneable {
     String getDescription();
     double getPrice();
     Image getImage();
+    
+    /**
+     * Get the image scaled to fit a square, scaled once and then cached
+     * @param size The width and height of the bounding square in pixels
+     * @return The scaled image
+     */
+    Image getImage(int size);
+    
+    /**
+     * Create an independent copy. Immutable catalog data and images are shared, not copied.
+     * @return The copy
+     */
     Furniture clone();
+    
+    /**
+     * Create a copy with a different name
+     * @param name The name of the copy
+     * @return The renamed copy
+     */
+    Furniture withName(String name);
+    
+    /**
+     * Create a copy with a different price
+     * @param price The price of the copy
+     * @return The repriced copy
+     * @throws IllegalArgumentException If the price is negative, NaN or infinite
+     */
+    Furniture withPrice(double price);
+    
+    /**
+     * Restore any per-order state to the catalog defaults so the instance can be reused
+     */
+    void reset();
 } 
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.furniture.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Data-driven catalog of furniture styles, parsed once from a properties file.
+ * Each style holds one shared {@link FurnitureSpec} per furniture type, so looking
+ * up a spec is a hash lookup plus an array index and allocates nothing.
+ */
+public final class FurnitureCatalog {
+    // Classpath location of the catalog bundled with the application
+    public static final String DEFAULT_RESOURCE = "/catalog.properties";
+
+    // Styles in the order they are listed in the catalog file
+    private final List<Style> styles;
+
+    // Styles indexed by their lower-case identifier
+    private final Map<String, Style> stylesById;
+
+    private FurnitureCatalog(List<Style> styles) {
+        this.styles = Collections.unmodifiableList(styles);
+        this.stylesById = new HashMap<>();
+        for (Style style : styles) {
+            stylesById.put(style.getId(), style);
+        }
+    }
+
+    // Lazily loaded default catalog
+    private static class DefaultHolder {
+        static final FurnitureCatalog DEFAULT = loadResource(DEFAULT_RESOURCE);
+    }
+
+    /**
+     * Get the catalog bundled with the application
+     * @return The default catalog
+     */
+    public static FurnitureCatalog getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Load a catalog from a classpath resource
+     * @param resourcePath The absolute resource path
+     * @return The parsed catalog
+     */
+    public static FurnitureCatalog loadResource(String resourcePath) {
+        try (InputStream in = FurnitureCatalog.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalStateException("Furniture catalog not found: " + resourcePath);
+            }
+            return load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read furniture catalog " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Load a catalog from a stream in properties format
+     * @param in The stream to read, encoded as UTF-8
+     * @return The parsed catalog
+     * @throws IOException If the stream cannot be read
+     */
+    public static FurnitureCatalog load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Build a catalog from already loaded properties
+     * @param properties The catalog entries
+     * @return The parsed catalog
+     */
+    public static FurnitureCatalog fromProperties(Properties properties) {
+        List<Style> styles = new ArrayList<>();
+        for (String id : required(properties, "styles").split(",")) {
+            id = id.trim().toLowerCase();
+            if (!id.isEmpty()) {
+                styles.add(parseStyle(properties, id));
+            }
+        }
+        return new FurnitureCatalog(styles);
+    }
+
+    /**
+     * Get all styles in catalog order
+     * @return Unmodifiable list of styles
+     */
+    public List<Style> getStyles() {
+        return styles;
+    }
+
+    /**
+     * Get a style by identifier
+     * @param id The lower-case style identifier, e.g. "artdeco"
+     * @return The style, or null if it is not in the catalog
+     */
+    public Style getStyle(String id) {
+        return stylesById.get(id);
+    }
+
+    /**
+     * Get the spec for a style and furniture type
+     * @param styleId The lower-case style identifier
+     * @param type The furniture type
+     * @return The shared spec, or null if the style is not in the catalog
+     */
+    public FurnitureSpec getSpec(String styleId, FurnitureType type) {
+        Style style = stylesById.get(styleId);
+        return style != null ? style.getSpec(type) : null;
+    }
+
+    /**
+     * Parse one style and its three furniture entries
+     */
+    private static Style parseStyle(Properties properties, String id) {
+        FurnitureSpec[] specs = new FurnitureSpec[FurnitureType.values().length];
+        for (FurnitureType type : FurnitureType.values()) {
+            specs[type.ordinal()] = parseSpec(properties, id, type);
+        }
+        return new Style(id, required(properties, id + ".name"), specs);
+    }
+
+    /**
+     * Parse the spec of one furniture type within a style
+     */
+    private static FurnitureSpec parseSpec(Properties properties, String styleId, FurnitureType type) {
+        String prefix = styleId + "." + type.getId() + ".";
+        String name = required(properties, prefix + "name");
+        String description = required(properties, prefix + "description");
+        double price = parseDouble(properties, prefix + "price");
+        String imagePath = properties.getProperty(prefix + "image",
+                "/images/" + styleId + "/" + type.getId() + ".png").trim();
+
+        switch (type) {
+            case CHAIR:
+                return FurnitureSpec.chair(name, description, price, imagePath,
+                        parseInt(properties, prefix + "legs"),
+                        parseBoolean(properties, prefix + "armrests"));
+            case SOFA:
+                return FurnitureSpec.sofa(name, description, price, imagePath,
+                        parseInt(properties, prefix + "seats"),
+                        parseBoolean(properties, prefix + "convertible"));
+            case TABLE:
+                return FurnitureSpec.table(name, description, price, imagePath,
+                        parseInt(properties, prefix + "legs"),
+                        parseDouble(properties, prefix + "area"));
+            default:
+                throw new IllegalArgumentException("Unknown furniture type: " + type);
+        }
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing catalog entry: " + key);
+        }
+        return value.trim();
+    }
+
+    private static int parseInt(Properties properties, String key) {
+        try {
+            return Integer.parseInt(required(properties, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for catalog entry: " + key, e);
+        }
+    }
+
+    private static double parseDouble(Properties properties, String key) {
+        try {
+            return Double.parseDouble(required(properties, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for catalog entry: " + key, e);
+        }
+    }
+
+    private static boolean parseBoolean(Properties properties, String key) {
+        return Boolean.parseBoolean(required(properties, key));
+    }
+
+    /**
+     * One style family in the catalog with its chair, sofa and table specs
+     */
+    public static final class Style {
+        private final String id;
+        private final String name;
+        private final FurnitureSpec[] specs;
+
+        private Style(String id, String name, FurnitureSpec[] specs) {
+            this.id = id;
+            this.name = name;
+            this.specs = specs;
+        }
+
+        /**
+         * Get the lower-case identifier, e.g. "artdeco"
+         * @return The style identifier
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Get the display name, e.g. "Art Deco"
+         * @return The style name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the spec for a furniture type
+         * @param type The furniture type
+         * @return The shared spec
+         */
+        public FurnitureSpec getSpec(FurnitureType type) {
+            return specs[type.ordinal()];
+        }
+    }
+}
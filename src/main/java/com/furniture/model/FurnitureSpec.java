@@ -0,0 +1,143 @@
+package com.furniture.model;
+
+import com.furniture.utils.ImageCache;
+
+import java.awt.Image;
+
+/**
+ * Immutable catalog data for one style and furniture type - implements the Flyweight pattern.
+ * A single instance is shared by every furniture object of that style and type, so
+ * furniture instances only need to hold a reference to it.
+ */
+public final class FurnitureSpec {
+    private final FurnitureType type;
+    private final String name;
+    private final String description;
+    private final double price;
+    private final String imagePath;
+    private final int numberOfLegs;
+    private final boolean hasArmrests;
+    private final int numberOfSeats;
+    private final boolean isConvertible;
+    private final double surfaceArea; // in square meters
+
+    private FurnitureSpec(FurnitureType type, String name, String description, double price, String imagePath,
+                          int numberOfLegs, boolean hasArmrests, int numberOfSeats, boolean isConvertible,
+                          double surfaceArea) {
+        this.type = type;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.imagePath = imagePath;
+        this.numberOfLegs = numberOfLegs;
+        this.hasArmrests = hasArmrests;
+        this.numberOfSeats = numberOfSeats;
+        this.isConvertible = isConvertible;
+        this.surfaceArea = surfaceArea;
+    }
+
+    /**
+     * Create the catalog data for a chair
+     * @param name The display name
+     * @param description The description
+     * @param price The base price
+     * @param imagePath The classpath resource path of the image
+     * @param numberOfLegs The number of legs
+     * @param hasArmrests Whether the chair has armrests
+     * @return The chair specification
+     */
+    public static FurnitureSpec chair(String name, String description, double price, String imagePath,
+                                      int numberOfLegs, boolean hasArmrests) {
+        return new FurnitureSpec(FurnitureType.CHAIR, name, description, price, imagePath,
+                numberOfLegs, hasArmrests, 0, false, 0.0);
+    }
+
+    /**
+     * Create the catalog data for a sofa
+     * @param name The display name
+     * @param description The description
+     * @param price The base price
+     * @param imagePath The classpath resource path of the image
+     * @param numberOfSeats The number of seats
+     * @param isConvertible Whether the sofa converts into a bed
+     * @return The sofa specification
+     */
+    public static FurnitureSpec sofa(String name, String description, double price, String imagePath,
+                                     int numberOfSeats, boolean isConvertible) {
+        return new FurnitureSpec(FurnitureType.SOFA, name, description, price, imagePath,
+                0, false, numberOfSeats, isConvertible, 0.0);
+    }
+
+    /**
+     * Create the catalog data for a table
+     * @param name The display name
+     * @param description The description
+     * @param price The base price
+     * @param imagePath The classpath resource path of the image
+     * @param numberOfLegs The number of legs
+     * @param surfaceArea The surface area in square meters
+     * @return The table specification
+     */
+    public static FurnitureSpec table(String name, String description, double price, String imagePath,
+                                      int numberOfLegs, double surfaceArea) {
+        return new FurnitureSpec(FurnitureType.TABLE, name, description, price, imagePath,
+                numberOfLegs, false, 0, false, surfaceArea);
+    }
+
+    public FurnitureType getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    /**
+     * Get the image, decoded lazily and shared through the image cache
+     * @return The image
+     */
+    public Image getImage() {
+        return ImageCache.getInstance().getImage(imagePath);
+    }
+
+    /**
+     * Get the image scaled to fit a square, scaled once and shared through the image cache
+     * @param size The width and height of the bounding square in pixels
+     * @return The scaled image
+     */
+    public Image getImage(int size) {
+        return ImageCache.getInstance().getImage(imagePath, size);
+    }
+
+    public int getNumberOfLegs() {
+        return numberOfLegs;
+    }
+
+    public boolean hasArmrests() {
+        return hasArmrests;
+    }
+
+    public int getNumberOfSeats() {
+        return numberOfSeats;
+    }
+
+    public boolean isConvertible() {
+        return isConvertible;
+    }
+
+    public double getSurfaceArea() {
+        return surfaceArea;
+    }
+}
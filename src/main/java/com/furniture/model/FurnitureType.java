@@ -0,0 +1,38 @@
+package com.furniture.model;
+
+/**
+ * The kinds of furniture every style family provides
+ */
+public enum FurnitureType {
+    CHAIR("chair"),
+    SOFA("sofa"),
+    TABLE("table");
+
+    private final String id;
+
+    FurnitureType(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the lower-case identifier used in keys and resource paths
+     * @return The identifier, e.g. "chair"
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Look up a furniture type by its identifier, ignoring case
+     * @param id The identifier to look for
+     * @return The matching type, or null if there is none
+     */
+    public static FurnitureType fromId(String id) {
+        for (FurnitureType type : values()) {
+            if (type.id.equalsIgnoreCase(id)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
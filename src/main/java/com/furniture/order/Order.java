@@ -0,0 +1,126 @@
+package com.furniture.order;
+
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A furniture order of any size, stored as primitive columns.
+ * Every distinct prototype key gets a slot when first added, so lines are kept as
+ * two int arrays (slot and quantity) and can be aggregated without touching any objects.
+ */
+public class Order {
+    // Initial capacity of the line arrays
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Distinct keys in order of first appearance, and the slot of each key
+    private final List<PrototypeKey> keys = new ArrayList<>();
+    private final Map<PrototypeKey, Integer> slots = new HashMap<>();
+
+    // Line columns: the key slot and quantity of each line
+    private int[] lineSlots;
+    private int[] lineQuantities;
+    private int lineCount;
+
+    /**
+     * Create an empty order
+     */
+    public Order() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create an empty order sized for the expected number of lines
+     * @param expectedLines The number of lines to allocate room for
+     */
+    public Order(int expectedLines) {
+        int capacity = Math.max(1, expectedLines);
+        lineSlots = new int[capacity];
+        lineQuantities = new int[capacity];
+    }
+
+    /**
+     * Add a line to the order
+     * @param key The prototype key of the ordered furniture
+     * @param quantity The number of items, at least 1
+     * @return This order
+     */
+    public Order addLine(PrototypeKey key, int quantity) {
+        if (key == null) {
+            throw new IllegalArgumentException("Order line needs a prototype key");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive: " + quantity);
+        }
+
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            slot = keys.size();
+            keys.add(key);
+            slots.put(key, slot);
+        }
+
+        if (lineCount == lineSlots.length) {
+            int capacity = lineSlots.length * 2;
+            lineSlots = Arrays.copyOf(lineSlots, capacity);
+            lineQuantities = Arrays.copyOf(lineQuantities, capacity);
+        }
+        lineSlots[lineCount] = slot;
+        lineQuantities[lineCount] = quantity;
+        lineCount++;
+        return this;
+    }
+
+    /**
+     * Add a line to the order
+     * @param key The prototype key, e.g. "modern_chair"
+     * @param quantity The number of items, at least 1
+     * @return This order
+     * @throws IllegalArgumentException If no prototype key with this name exists
+     */
+    public Order addLine(String key, int quantity) {
+        PrototypeKey prototypeKey = PrototypeKey.lookup(key);
+        if (prototypeKey == null) {
+            throw new IllegalArgumentException("No prototype registered for " + key);
+        }
+        return addLine(prototypeKey, quantity);
+    }
+
+    /**
+     * Get the number of lines in the order
+     * @return The line count
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Get the number of distinct prototype keys in the order
+     * @return The key count
+     */
+    public int getKeyCount() {
+        return keys.size();
+    }
+
+    /**
+     * Get the prototype key of a slot
+     * @param slot The slot, from 0 to getKeyCount() - 1
+     * @return The key
+     */
+    PrototypeKey getKey(int slot) {
+        return keys.get(slot);
+    }
+
+    // The line columns are shared with the quote engine, which only reads the first lineCount entries
+    int[] getLineSlots() {
+        return lineSlots;
+    }
+
+    int[] getLineQuantities() {
+        return lineQuantities;
+    }
+}
@@ -0,0 +1,122 @@
+package com.furniture.order;
+
+import com.furniture.patterns.PrototypeKey;
+import com.furniture.utils.Money;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Priced result of an {@link Order}. Amounts are exact and kept in cents.
+ */
+public class Quote {
+
+    /**
+     * Aggregated quantity and amounts of one prototype key
+     */
+    public static class Line {
+        private final PrototypeKey key;
+        private final long quantity;
+        private final long unitPriceCents;
+        private final long subtotalCents;
+        private final long discountCents;
+        private final int discountBasisPoints;
+
+        Line(PrototypeKey key, long quantity, long unitPriceCents, long subtotalCents,
+                long discountCents, int discountBasisPoints) {
+            this.key = key;
+            this.quantity = quantity;
+            this.unitPriceCents = unitPriceCents;
+            this.subtotalCents = subtotalCents;
+            this.discountCents = discountCents;
+            this.discountBasisPoints = discountBasisPoints;
+        }
+
+        public PrototypeKey getKey() {
+            return key;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getUnitPriceCents() {
+            return unitPriceCents;
+        }
+
+        public long getSubtotalCents() {
+            return subtotalCents;
+        }
+
+        public long getDiscountCents() {
+            return discountCents;
+        }
+
+        /**
+         * Get the volume discount applied to this key
+         * @return The discount in basis points (1/100 of a percent)
+         */
+        public int getDiscountBasisPoints() {
+            return discountBasisPoints;
+        }
+    }
+
+    private final List<Line> lines;
+    private final long subtotalCents;
+    private final long discountCents;
+    private final long taxCents;
+
+    Quote(List<Line> lines, long subtotalCents, long discountCents, long taxCents) {
+        this.lines = Collections.unmodifiableList(lines);
+        this.subtotalCents = subtotalCents;
+        this.discountCents = discountCents;
+        this.taxCents = taxCents;
+    }
+
+    /**
+     * Get the aggregated lines, one per prototype key in order of first appearance
+     * @return The quote lines
+     */
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    public long getDiscountCents() {
+        return discountCents;
+    }
+
+    public long getTaxCents() {
+        return taxCents;
+    }
+
+    public long getTotalCents() {
+        return subtotalCents - discountCents + taxCents;
+    }
+
+    public BigDecimal getSubtotal() {
+        return Money.fromCents(subtotalCents);
+    }
+
+    public BigDecimal getDiscount() {
+        return Money.fromCents(discountCents);
+    }
+
+    public BigDecimal getTax() {
+        return Money.fromCents(taxCents);
+    }
+
+    public BigDecimal getTotal() {
+        return Money.fromCents(getTotalCents());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Subtotal $%s, discount $%s, tax $%s, total $%s (%d keys)",
+                getSubtotal(), getDiscount(), getTax(), getTotal(), lines.size());
+    }
+}
@@ -0,0 +1,143 @@
+package com.furniture.order;
+
+import com.furniture.model.Furniture;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+import com.furniture.utils.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prices orders against the prototype registry.
+ * Quantities are aggregated per prototype key in one pass over the order's primitive
+ * columns; prices, volume discounts and tax are then applied once per distinct key in
+ * exact long cents, so the cost of a quote grows with the number of lines only by that pass.
+ */
+public class QuoteEngine {
+    // Default sales tax: 8%
+    public static final int DEFAULT_TAX_BASIS_POINTS = 800;
+
+    // Default volume discounts: 5% from 10 items, 10% from 50 and 15% from 100 of the same key
+    private static final long[] DEFAULT_TIER_QUANTITIES = {10, 50, 100};
+    private static final int[] DEFAULT_TIER_BASIS_POINTS = {500, 1000, 1500};
+
+    // One basis point is 1/10000
+    private static final long BASIS_POINTS = 10_000L;
+
+    private final FurniturePrototypeRegistry registry;
+    private final int taxBasisPoints;
+
+    // Minimum aggregated quantity of each discount tier, ascending, and its discount
+    private final long[] tierQuantities;
+    private final int[] tierBasisPoints;
+
+    /**
+     * Create an engine with the default tax rate and volume discounts
+     */
+    public QuoteEngine() {
+        this(DEFAULT_TAX_BASIS_POINTS, DEFAULT_TIER_QUANTITIES, DEFAULT_TIER_BASIS_POINTS);
+    }
+
+    /**
+     * Create an engine with custom pricing rules
+     * @param taxBasisPoints The tax rate in basis points, e.g. 800 for 8%
+     * @param tierQuantities The minimum quantity of each discount tier, in ascending order
+     * @param tierBasisPoints The discount of each tier in basis points
+     */
+    public QuoteEngine(int taxBasisPoints, long[] tierQuantities, int[] tierBasisPoints) {
+        if (taxBasisPoints < 0) {
+            throw new IllegalArgumentException("Tax rate must not be negative: " + taxBasisPoints);
+        }
+        if (tierQuantities.length != tierBasisPoints.length) {
+            throw new IllegalArgumentException("Every discount tier needs a quantity and a discount");
+        }
+        for (int i = 0; i < tierQuantities.length; i++) {
+            if (i > 0 && tierQuantities[i] <= tierQuantities[i - 1]) {
+                throw new IllegalArgumentException("Discount tiers must be in ascending quantity order");
+            }
+            if (tierBasisPoints[i] < 0 || tierBasisPoints[i] > BASIS_POINTS) {
+                throw new IllegalArgumentException("Discount must be between 0 and 10000 basis points: "
+                        + tierBasisPoints[i]);
+            }
+        }
+
+        this.registry = FurniturePrototypeRegistry.getInstance();
+        this.taxBasisPoints = taxBasisPoints;
+        this.tierQuantities = tierQuantities.clone();
+        this.tierBasisPoints = tierBasisPoints.clone();
+    }
+
+    /**
+     * Price an order
+     * @param order The order to price
+     * @return The quote
+     * @throws IllegalArgumentException If the order contains a key without a registered prototype
+     */
+    public Quote quote(Order order) {
+        int keyCount = order.getKeyCount();
+
+        // Aggregate the quantities of each key in a single pass over the line columns
+        long[] quantities = new long[keyCount];
+        int[] slots = order.getLineSlots();
+        int[] lineQuantities = order.getLineQuantities();
+        int lineCount = order.getLineCount();
+        for (int i = 0; i < lineCount; i++) {
+            quantities[slots[i]] += lineQuantities[i];
+        }
+
+        // Price each distinct key once
+        List<Quote.Line> lines = new ArrayList<>(keyCount);
+        long subtotal = 0;
+        long discount = 0;
+        for (int slot = 0; slot < keyCount; slot++) {
+            PrototypeKey key = order.getKey(slot);
+            long unitPrice = unitPriceCents(key);
+            long keySubtotal = Math.multiplyExact(unitPrice, quantities[slot]);
+            int discountBasisPoints = discountBasisPoints(quantities[slot]);
+            long keyDiscount = percentOf(keySubtotal, discountBasisPoints);
+
+            lines.add(new Quote.Line(key, quantities[slot], unitPrice, keySubtotal, keyDiscount, discountBasisPoints));
+            subtotal = Math.addExact(subtotal, keySubtotal);
+            discount += keyDiscount;
+        }
+
+        long tax = percentOf(subtotal - discount, taxBasisPoints);
+        return new Quote(lines, subtotal, discount, tax);
+    }
+
+    /**
+     * Get the discount for an aggregated quantity
+     * @param quantity The total quantity of one key
+     * @return The discount of the highest tier reached, in basis points
+     */
+    public int discountBasisPoints(long quantity) {
+        int index = Arrays.binarySearch(tierQuantities, quantity);
+        if (index < 0) {
+            // Not an exact tier boundary: use the tier below the insertion point
+            index = -index - 2;
+        }
+        return index >= 0 ? tierBasisPoints[index] : 0;
+    }
+
+    /**
+     * Look up the catalog price of a prototype in cents
+     */
+    private long unitPriceCents(PrototypeKey key) {
+        Furniture prototype = registry.getClone(key);
+        if (prototype == null) {
+            throw new IllegalArgumentException("No prototype registered for " + key.getName());
+        }
+        return Money.toCents(prototype.getPrice());
+    }
+
+    /**
+     * Compute a share of an amount, rounded half up to whole cents
+     * @param cents The non-negative amount
+     * @param basisPoints The share in basis points
+     */
+    private static long percentOf(long cents, int basisPoints) {
+        return (Math.multiplyExact(cents, basisPoints) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+}
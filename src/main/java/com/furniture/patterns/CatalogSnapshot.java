@@ -0,0 +1,326 @@
+package com.furniture.patterns;
+
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.model.AbstractFurniture;
+import com.furniture.model.CatalogChair;
+import com.furniture.model.CatalogSofa;
+import com.furniture.model.CatalogTable;
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureCatalog;
+import com.furniture.model.FurnitureSpec;
+import com.furniture.model.FurnitureType;
+import com.furniture.utils.ImageCache;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Binary snapshot of the decoded images of the catalog prototypes.
+ * The snapshot is memory-mapped on load, so restoring it costs a few bulk copies instead
+ * of decoding every PNG. Restored prototypes use the shared specs of the default catalog,
+ * exactly like those created by the catalog factories; the snapshot only stores which keys
+ * it covers and the pixels of their images. A snapshot records a fingerprint of the catalog
+ * and its images it was built from and is ignored once either changes.
+ * <p>
+ * Usage: {@code java -cp bin com.furniture.patterns.CatalogSnapshot [snapshot file]}
+ */
+public final class CatalogSnapshot {
+    // System property naming the snapshot file
+    public static final String SNAPSHOT_PROPERTY = "furniture.snapshot";
+
+    // Snapshot file used when the property is not set
+    public static final String DEFAULT_SNAPSHOT_FILE = "catalog.snapshot";
+
+    // File header: "FCS" followed by the format version
+    private static final int MAGIC = 0x46435302;
+
+    // Fingerprint of the classpath catalog, computed once per JVM
+    private static volatile Long fingerprint;
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * Get the snapshot file configured for this JVM
+     * @return The snapshot file
+     */
+    public static File getDefaultFile() {
+        return new File(System.getProperty(SNAPSHOT_PROPERTY, DEFAULT_SNAPSHOT_FILE));
+    }
+
+    /**
+     * Write a snapshot of prototypes. Only prototypes that are plain catalog furniture, backed by
+     * the default catalog's spec for their key without a changed name or price, are stored.
+     * The snapshot is written to a temporary file that then replaces the target, so a crash or
+     * a concurrent build never leaves a partly written snapshot behind.
+     * @param file The file to write
+     * @param prototypes The prototypes to store
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(File file, Map<PrototypeKey, Furniture> prototypes) throws IOException {
+        Map<PrototypeKey, FurnitureSpec> catalogSpecs = catalogSpecs();
+        Map<PrototypeKey, FurnitureSpec> specs = new LinkedHashMap<>();
+        for (Map.Entry<PrototypeKey, Furniture> entry : prototypes.entrySet()) {
+            FurnitureSpec spec = catalogSpecs.get(entry.getKey());
+            Furniture furniture = entry.getValue();
+            if (spec != null && furniture instanceof AbstractFurniture && ((AbstractFurniture) furniture).getSpec() == spec
+                    && furniture.getName().equals(spec.getName()) && furniture.getPrice() == spec.getPrice()) {
+                specs.put(entry.getKey(), spec);
+            }
+        }
+
+        Path target = file.getAbsoluteFile().toPath();
+        Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeLong(catalogFingerprint());
+                out.writeInt(specs.size());
+
+                // Each image is stored once, with the first key whose spec uses it
+                Set<String> writtenImages = new HashSet<>();
+                for (Map.Entry<PrototypeKey, FurnitureSpec> entry : specs.entrySet()) {
+                    FurnitureSpec spec = entry.getValue();
+                    writeString(out, entry.getKey().getName());
+                    boolean writeImage = writtenImages.add(spec.getImagePath());
+                    out.writeBoolean(writeImage);
+                    if (writeImage) {
+                        writeRaster(out, spec.getImage());
+                    }
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Restore prototypes from a snapshot and preload their images into the image cache
+     * @param file The snapshot file
+     * @return The restored prototypes, or null if the snapshot is missing, stale or unreadable
+     */
+    public static Map<PrototypeKey, Furniture> restore(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getLong() != catalogFingerprint()) {
+                System.err.println("Catalog snapshot " + file + " is stale, loading prototypes from factories");
+                return null;
+            }
+
+            Map<PrototypeKey, FurnitureSpec> catalogSpecs = catalogSpecs();
+            int count = buffer.getInt();
+            Map<PrototypeKey, Furniture> prototypes = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                PrototypeKey key = PrototypeKey.of(readString(buffer));
+                FurnitureSpec spec = catalogSpecs.get(key);
+                if (spec == null) {
+                    throw new IllegalArgumentException("no catalog spec for " + key);
+                }
+                if (buffer.get() != 0) {
+                    ImageCache.getInstance().put(spec.getImagePath(), readRaster(buffer));
+                }
+
+                switch (spec.getType()) {
+                    case CHAIR:
+                        prototypes.put(key, new CatalogChair(spec));
+                        break;
+                    case SOFA:
+                        prototypes.put(key, new CatalogSofa(spec));
+                        break;
+                    case TABLE:
+                        prototypes.put(key, new CatalogTable(spec));
+                        break;
+                }
+            }
+            return prototypes;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // A corrupt or truncated snapshot is rebuilt from the factories
+            System.err.println("Failed to read catalog snapshot " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the shared specs of the default catalog by the key their catalog factory registers them under
+     */
+    private static Map<PrototypeKey, FurnitureSpec> catalogSpecs() {
+        Map<PrototypeKey, FurnitureSpec> specs = new HashMap<>();
+        for (FurnitureCatalog.Style style : FurnitureCatalog.getDefault().getStyles()) {
+            for (FurnitureType type : FurnitureType.values()) {
+                specs.put(PrototypeKey.of(style.getName(), type), style.getSpec(type));
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * Compute the fingerprint of the bundled catalog and the images it refers to, so regenerated
+     * or replaced images make snapshots and image bundles stale just like catalog changes.
+     * The resources are hashed on the first call only; the classpath does not change while the JVM runs.
+     * @return The first 64 bits of the SHA-256 hash of the catalog resource and its image resources
+     * @throws IOException If a resource cannot be read
+     */
+    public static long catalogFingerprint() throws IOException {
+        Long result = fingerprint;
+        if (result == null) {
+            // Racing threads compute the same value, so no lock is needed
+            result = computeFingerprint();
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    private static long computeFingerprint() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        if (!update(digest, FurnitureCatalog.DEFAULT_RESOURCE)) {
+            return 0L;
+        }
+        Set<String> imagePaths = new TreeSet<>();
+        for (FurnitureCatalog.Style style : FurnitureCatalog.getDefault().getStyles()) {
+            for (FurnitureType type : FurnitureType.values()) {
+                imagePaths.add(style.getSpec(type).getImagePath());
+            }
+        }
+        for (String imagePath : imagePaths) {
+            digest.update(imagePath.getBytes(StandardCharsets.UTF_8));
+            // A missing image hashes differently from an empty one
+            digest.update((byte) (update(digest, imagePath) ? 1 : 0));
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    /**
+     * Add the bytes of a classpath resource to a digest
+     * @return False if the resource does not exist
+     */
+    private static boolean update(MessageDigest digest, String resourcePath) throws IOException {
+        try (InputStream in = CatalogSnapshot.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                return false;
+            }
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+            return true;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the ARGB pixels of an image, preceded by its width and height
+     */
+    private static void writeRaster(DataOutputStream out, Image image) throws IOException {
+        int width = Math.max(1, image.getWidth(null));
+        int height = Math.max(1, image.getHeight(null));
+        BufferedImage argb = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = argb.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+
+        out.writeInt(width);
+        out.writeInt(height);
+        for (int pixel : ((DataBufferInt) argb.getRaster().getDataBuffer()).getData()) {
+            out.writeInt(pixel);
+        }
+    }
+
+    /**
+     * Read an image written by {@link #writeRaster} with one bulk copy from the mapped file
+     * @throws IllegalArgumentException If the size is invalid or the pixels are truncated
+     */
+    private static BufferedImage readRaster(ByteBuffer buffer) {
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        // Check before allocating, so a corrupt size cannot request a huge or negative array
+        if (width <= 0 || height <= 0 || (long) width * height > buffer.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException("invalid image size " + width + "x" + height);
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        buffer.asIntBuffer().get(pixels);
+        buffer.position(buffer.position() + pixels.length * Integer.BYTES);
+        return image;
+    }
+
+    /**
+     * Build the snapshot from the built-in catalog factories
+     * @param args Optional snapshot file
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        File file = args.length > 0 ? new File(args[0]) : getDefaultFile();
+
+        // Only the built-in catalog; plugin styles are not covered by the catalog fingerprint
+        Map<PrototypeKey, Furniture> prototypes = new LinkedHashMap<>();
+        for (FurnitureFactory factory : FactoryManager.getInstanceWithoutPlugins().getBuiltInFactories()) {
+            prototypes.put(PrototypeKey.of(factory.getStyleName(), FurnitureType.CHAIR), factory.createChair());
+            prototypes.put(PrototypeKey.of(factory.getStyleName(), FurnitureType.SOFA), factory.createSofa());
+            prototypes.put(PrototypeKey.of(factory.getStyleName(), FurnitureType.TABLE), factory.createTable());
+        }
+
+        try {
+            write(file, prototypes);
+            System.out.println("Catalog snapshot written: " + file + " (" + prototypes.size() + " prototypes)");
+        } catch (IOException e) {
+            System.err.println("Failed to write catalog snapshot: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
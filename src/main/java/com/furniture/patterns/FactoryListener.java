@@ -0,0 +1,20 @@
+package com.furniture.patterns;
+
+import com.furniture.factory.FurnitureFactory;
+
+/**
+ * Listener for factories being added to or removed from the {@link FactoryManager}
+ */
+public interface FactoryListener {
+    /**
+     * Called after a factory is registered, including when it replaces one with the same style name
+     * @param factory The registered factory
+     */
+    void factoryRegistered(FurnitureFactory factory);
+
+    /**
+     * Called after a factory is removed without replacement
+     * @param factory The removed factory
+     */
+    void factoryRemoved(FurnitureFactory factory);
+}
@@ -1,48 +1,124 @@
 package com.furniture.patterns;
 
-import com.furniture.factory.ArtDecoFurnitureFactory;
+import com.furniture.factory.CatalogFactoryProvider;
 import com.furniture.factory.FurnitureFactory;
-import com.furniture.factory.ModernFurnitureFactory;
-import com.furniture.factory.VictorianFurnitureFactory;
+import com.furniture.factory.FurnitureFactoryProvider;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Singleton class that manages the furniture factories
+ * Singleton class that manages the furniture factories.
+ * <p>
+ * The built-in {@link CatalogFactoryProvider} contributes the styles of the furniture catalog.
+ * Further styles come from plugin jars in the plugin directory ({@code plugins}, or the directory
+ * named by the {@code furniture.plugins} system property). Each jar registers its
+ * {@link FurnitureFactoryProvider} implementations as a {@link java.util.ServiceLoader} service.
+ * Plugins are loaded in parallel by the first call to {@link #getInstance()} and can be added,
+ * replaced or removed while the application runs with {@link #reloadPlugins()} or
+ * {@link #startPluginWatcher()}.
  */
 public class FactoryManager {
-    // Singleton instance
-    private static FactoryManager instance;
-    
+    // Singleton instance, created when the holder class is first loaded
+    private static class InstanceHolder {
+        static final FactoryManager INSTANCE = new FactoryManager();
+    }
+
+    // System property naming the plugin directory
+    public static final String PLUGIN_DIR_PROPERTY = "furniture.plugins";
+
+    // Plugin directory used when the property is not set
+    public static final String DEFAULT_PLUGIN_DIR = "plugins";
+
+    // Time to wait for a plugin copy to settle before reloading
+    private static final long WATCH_SETTLE_MILLIS = 500;
+
     // Map to store the available furniture factories
     private final Map<String, FurnitureFactory> factories;
-    
+
+    // Factories of the built-in provider, restored when a plugin that replaced one is removed
+    private final List<FurnitureFactory> builtInFactories;
+
+    // Listeners notified of added and removed factories
+    private final List<FactoryListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Plugin jars and the factories they contributed
+    private final PluginDirectory pluginDirectory;
+
+    // Thread reloading plugins when the directory changes, null until started
+    private Thread pluginWatcher;
+
+    // Set by the first caller of getInstance(), which then loads the plugins
+    private final AtomicBoolean pluginsLoading = new AtomicBoolean();
+
     // Private constructor to prevent instantiation
     private FactoryManager() {
-        factories = new HashMap<>();
-        
-        // Register the available furniture factories
-        FurnitureFactory modernFactory = new ModernFurnitureFactory();
-        FurnitureFactory victorianFactory = new VictorianFurnitureFactory();
-        FurnitureFactory artDecoFactory = new ArtDecoFurnitureFactory();
-        
-        factories.put(modernFactory.getStyleName().toLowerCase(), modernFactory);
-        factories.put(victorianFactory.getStyleName().toLowerCase(), victorianFactory);
-        factories.put(artDecoFactory.getStyleName().toLowerCase(), artDecoFactory);
-    }
-    
-    /**
-     * Get the singleton instance of FactoryManager
+        factories = new ConcurrentHashMap<>();
+
+        // Register a factory for every style in the furniture catalog
+        builtInFactories = new CatalogFactoryProvider().getFactories();
+        for (FurnitureFactory factory : builtInFactories) {
+            factories.put(factory.getStyleName().toLowerCase(), factory);
+        }
+
+        // Plugins are loaded once the instance is published, see getInstance()
+        pluginDirectory = new PluginDirectory(new File(System.getProperty(PLUGIN_DIR_PROPERTY, DEFAULT_PLUGIN_DIR)));
+    }
+
+    /**
+     * Get the singleton instance of FactoryManager.
+     * The first call loads the plugins before returning; calls from other threads, including
+     * plugin code, return at once and see plugin styles appear as they are registered.
      * @return The singleton instance
      */
-    public static synchronized FactoryManager getInstance() {
-        if (instance == null) {
-            instance = new FactoryManager();
+    public static FactoryManager getInstance() {
+        FactoryManager instance = InstanceHolder.INSTANCE;
+        // Plugin providers run on loader threads and may call getInstance() themselves, so they
+        // must never run while a class initializer is waiting for them
+        if (!instance.pluginsLoading.get() && instance.pluginsLoading.compareAndSet(false, true)) {
+            instance.reloadPlugins();
         }
         return instance;
     }
-    
+
+    /**
+     * Get the singleton instance without loading the plugins, for singletons of this package
+     * that subscribe to factory changes from their constructor
+     * @return The singleton instance
+     */
+    static FactoryManager getInstanceWithoutPlugins() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Check whether a factory is one of the built-in catalog factories rather than a plugin's
+     * @param factory The factory to check
+     * @return True if the factory comes from the built-in catalog
+     */
+    boolean isBuiltIn(FurnitureFactory factory) {
+        return builtInFactories.contains(factory);
+    }
+
+    /**
+     * Get the built-in catalog factories, whether or not a plugin replaced their style
+     * @return The built-in factories
+     */
+    List<FurnitureFactory> getBuiltInFactories() {
+        return new ArrayList<>(builtInFactories);
+    }
+
     /**
      * Get a furniture factory by style name
      * @param styleName The style name to look for
@@ -51,7 +127,111 @@ public class FactoryManager {
     public FurnitureFactory getFactory(String styleName) {
         return factories.get(styleName.toLowerCase());
     }
-    
+
+    /**
+     * Register a furniture factory, replacing any factory with the same style name.
+     * Safe to call while other threads are looking up factories.
+     * @param factory The factory to register
+     */
+    public void register(FurnitureFactory factory) {
+        factories.put(factory.getStyleName().toLowerCase(), factory);
+        for (FactoryListener listener : listeners) {
+            listener.factoryRegistered(factory);
+        }
+    }
+
+    /**
+     * Remove a furniture factory if it is still the one registered for its style
+     * @param factory The factory to remove
+     * @return True if the factory was removed
+     */
+    public boolean unregister(FurnitureFactory factory) {
+        if (!factories.remove(factory.getStyleName().toLowerCase(), factory)) {
+            return false;
+        }
+        for (FactoryListener listener : listeners) {
+            listener.factoryRemoved(factory);
+        }
+        return true;
+    }
+
+    /**
+     * Add a listener that is called on the registering thread whenever a factory is added or removed
+     * @param listener The listener to add
+     */
+    public void addFactoryListener(FactoryListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a factory listener
+     * @param listener The listener to remove
+     */
+    public void removeFactoryListener(FactoryListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Rescan the plugin directory: unregister the factories of removed or changed jars,
+     * then load new and changed jars in parallel and register their factories.
+     * If a removed plugin provided a style that another plugin or the built-in catalog
+     * also provides, that factory takes its place.
+     */
+    public synchronized void reloadPlugins() {
+        pluginDirectory.reload(this::register, this::unregister);
+
+        // Fill styles left empty by removed plugins, preferring plugins over built-in styles
+        List<FurnitureFactory> fallbacks = pluginDirectory.getFactories();
+        fallbacks.addAll(builtInFactories);
+        for (FurnitureFactory factory : fallbacks) {
+            String style = factory.getStyleName().toLowerCase();
+            if (factories.putIfAbsent(style, factory) == null) {
+                for (FactoryListener listener : listeners) {
+                    listener.factoryRegistered(factory);
+                }
+            }
+        }
+    }
+
+    /**
+     * Watch the plugin directory and reload plugins whenever a jar is added, replaced or removed.
+     * Does nothing if the watcher is already running or the directory does not exist.
+     */
+    public synchronized void startPluginWatcher() {
+        if (pluginWatcher != null || !pluginDirectory.getDirectory().isDirectory()) {
+            return;
+        }
+
+        WatchService watchService;
+        try {
+            Path path = pluginDirectory.getDirectory().toPath();
+            watchService = path.getFileSystem().newWatchService();
+            path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Failed to watch plugin directory: " + e.getMessage());
+            return;
+        }
+
+        pluginWatcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+
+                    // A jar being copied fires several events; reload once it has settled
+                    Thread.sleep(WATCH_SETTLE_MILLIS);
+                    key.pollEvents();
+                    key.reset();
+                    reloadPlugins();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // Stop watching
+            }
+        }, "plugin-watcher");
+        pluginWatcher.setDaemon(true);
+        pluginWatcher.start();
+    }
+
     /**
      * Get all available furniture factories
      * @return Map of style names to factories
@@ -59,4 +239,4 @@ public class FactoryManager {
     public Map<String, FurnitureFactory> getAllFactories() {
         return new HashMap<>(factories);
     }
-} 
\ No newline at end of file
+}
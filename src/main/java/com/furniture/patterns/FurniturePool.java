@@ -0,0 +1,139 @@
+package com.furniture.patterns;
+
+import com.furniture.model.Furniture;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of recyclable clones of one prototype.
+ * Released instances are reset and handed out again by {@link #acquire()}, so steady-state
+ * workloads reuse the same objects instead of cloning the prototype for every request.
+ */
+public class FurniturePool {
+    private final Furniture prototype;
+    private final BlockingQueue<Furniture> idle;
+    
+    // Instances acquired and not yet released, compared by identity
+    private final Set<Furniture> acquired = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    // Pool statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+
+    /**
+     * Create a pool of clones of a prototype
+     * @param prototype The prototype new instances are cloned from
+     * @param capacity The maximum number of idle instances kept for reuse
+     */
+    public FurniturePool(Furniture prototype, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pool capacity must be positive: " + capacity);
+        }
+        this.prototype = prototype;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Take an instance from the pool, cloning the prototype if none is idle
+     * @return An instance in its reset state
+     */
+    public Furniture acquire() {
+        Furniture furniture = idle.poll();
+        if (furniture != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            furniture = prototype.clone();
+        }
+        acquired.add(furniture);
+        
+        int outstanding = inUse.incrementAndGet();
+        highWaterMark.accumulateAndGet(outstanding, Math::max);
+        return furniture;
+    }
+
+    /**
+     * Return an instance to the pool. The instance is reset and must not be used afterwards.
+     * @param furniture An instance previously obtained from {@link #acquire()}
+     * @throws IllegalArgumentException If the instance was not acquired from this pool or was already released
+     */
+    public void release(Furniture furniture) {
+        if (furniture == null) {
+            throw new IllegalArgumentException("Cannot release null furniture");
+        }
+        if (!acquired.remove(furniture)) {
+            throw new IllegalArgumentException("Furniture was not acquired from this pool or was already released: " + furniture.getName());
+        }
+        inUse.decrementAndGet();
+        furniture.reset();
+        
+        // Instances beyond the pool capacity are left to the garbage collector
+        idle.offer(furniture);
+    }
+
+    /**
+     * Get the number of acquisitions served from idle instances
+     * @return The hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of acquisitions that had to clone the prototype
+     * @return The miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the fraction of acquisitions served from idle instances
+     * @return The hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Get the number of instances currently acquired and not yet released
+     * @return The number of instances in use
+     */
+    public int getInUse() {
+        return inUse.get();
+    }
+
+    /**
+     * Get the largest number of instances that were in use at the same time
+     * @return The high-water mark
+     */
+    public int getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Get the number of idle instances ready for reuse
+     * @return The idle count
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Get the prototype this pool clones
+     * @return The prototype
+     */
+    public Furniture getPrototype() {
+        return prototype;
+    }
+}
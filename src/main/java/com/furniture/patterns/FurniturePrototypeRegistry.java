@@ -1,53 +1,134 @@
 package com.furniture.patterns;
 
+import com.furniture.factory.CatalogFurnitureFactory;
 import com.furniture.factory.FurnitureFactory;
-import com.furniture.model.Chair;
 import com.furniture.model.Furniture;
-import com.furniture.model.Sofa;
-import com.furniture.model.Table;
+import com.furniture.model.FurnitureSpec;
+import com.furniture.model.FurnitureType;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Registry for furniture prototypes - implements the Prototype pattern
  */
 public class FurniturePrototypeRegistry {
-    // Singleton instance
-    private static FurniturePrototypeRegistry instance;
+    // Singleton instance, created when the holder class is first loaded
+    private static class InstanceHolder {
+        static final FurniturePrototypeRegistry INSTANCE = new FurniturePrototypeRegistry();
+    }
+    
+    // Batch size from which bulk cloning is spread across the common fork-join pool
+    public static final int PARALLEL_CLONE_THRESHOLD = 8192;
+    
+    // Number of idle instances each prototype pool keeps for reuse
+    public static final int DEFAULT_POOL_CAPACITY = 256;
     
     // Map to store the furniture prototypes
-    private final Map<String, Furniture> prototypes;
+    private final Map<PrototypeKey, Furniture> prototypes;
+    
+    // Suppliers of prototypes that have not been created yet. A key's entries in prototypes and
+    // suppliers are only changed together inside a computation on prototypes, which locks the key.
+    private final Map<PrototypeKey, Supplier<? extends Furniture>> suppliers;
+    
+    // Recycling pools, created on first use per prototype
+    private final Map<PrototypeKey, FurniturePool> pools;
+    
+    // Notified with the key of every prototype registered or removed after they were added
+    private final List<Consumer<PrototypeKey>> registrationListeners = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Supplier creating a prototype through a style's factory, which the warm-up checks
+     * before restoring the prototype from the catalog snapshot instead
+     */
+    private static final class FactorySupplier implements Supplier<Furniture> {
+        private final FurnitureFactory factory;
+        private final FurnitureType type;
+        
+        FactorySupplier(FurnitureFactory factory, FurnitureType type) {
+            this.factory = factory;
+            this.type = type;
+        }
+        
+        @Override
+        public Furniture get() {
+            return createPrototype(factory, type);
+        }
+    }
     
     // Private constructor to prevent instantiation
     private FurniturePrototypeRegistry() {
-        prototypes = new HashMap<>();
+        prototypes = new ConcurrentHashMap<>();
+        suppliers = new ConcurrentHashMap<>();
+        pools = new ConcurrentHashMap<>();
         initializePrototypes();
     }
     
     /**
-     * Initialize the prototypes from all factories
+     * Register a lazy prototype for each style and furniture type of all factories,
+     * and follow factories added or removed later, e.g. by plugins.
+     * Prototypes are only created when first cloned or during a warm-up.
      */
     private void initializePrototypes() {
-        // Get all factories from the factory manager
-        Map<String, FurnitureFactory> factories = FactoryManager.getInstance().getAllFactories();
+        // Runs during class initialization, so plugins are loaded later by getInstance()
+        FactoryManager factoryManager = FactoryManager.getInstanceWithoutPlugins();
         
-        // Create prototypes for each style and furniture type
-        for (Map.Entry<String, FurnitureFactory> entry : factories.entrySet()) {
-            String style = entry.getKey();
-            FurnitureFactory factory = entry.getValue();
-            
-            // Create and register chair prototype
-            Chair chair = factory.createChair();
-            register(style + "_chair", chair);
+        // Listen first so no factory is missed; registering a style twice just replaces its suppliers
+        factoryManager.addFactoryListener(new FactoryListener() {
+            @Override
+            public void factoryRegistered(FurnitureFactory factory) {
+                registerFactory(factory);
+            }
             
-            // Create and register sofa prototype
-            Sofa sofa = factory.createSofa();
-            register(style + "_sofa", sofa);
-            
-            // Create and register table prototype
-            Table table = factory.createTable();
-            register(style + "_table", table);
+            @Override
+            public void factoryRemoved(FurnitureFactory factory) {
+                for (FurnitureType type : FurnitureType.values()) {
+                    unregister(PrototypeKey.of(factory.getStyleName(), type));
+                }
+            }
+        });
+        
+        for (FurnitureFactory factory : factoryManager.getAllFactories().values()) {
+            registerFactory(factory);
+        }
+    }
+    
+    /**
+     * Register a supplier for each furniture type of a factory
+     * @param factory The factory of the style
+     */
+    private void registerFactory(FurnitureFactory factory) {
+        for (FurnitureType type : FurnitureType.values()) {
+            registerLazy(PrototypeKey.of(factory.getStyleName(), type), new FactorySupplier(factory, type));
+        }
+    }
+    
+    /**
+     * Create a prototype through a factory
+     * @param factory The factory of the style
+     * @param type The furniture type to create
+     * @return The new prototype
+     */
+    private static Furniture createPrototype(FurnitureFactory factory, FurnitureType type) {
+        switch (type) {
+            case CHAIR:
+                return factory.createChair();
+            case SOFA:
+                return factory.createSofa();
+            case TABLE:
+                return factory.createTable();
+            default:
+                throw new IllegalArgumentException("Unknown furniture type: " + type);
         }
     }
     
@@ -55,29 +136,100 @@ public class FurniturePrototypeRegistry {
      * Get the singleton instance
      * @return The singleton instance
      */
-    public static synchronized FurniturePrototypeRegistry getInstance() {
-        if (instance == null) {
-            instance = new FurniturePrototypeRegistry();
-        }
+    public static FurniturePrototypeRegistry getInstance() {
+        FurniturePrototypeRegistry instance = InstanceHolder.INSTANCE;
+        // Load the plugins, if not done yet, now that the registry listens for their factories
+        FactoryManager.getInstance();
         return instance;
     }
     
     /**
-     * Register a furniture prototype
+     * Register a furniture prototype.
+     * Safe to call while other threads are cloning prototypes.
+     * @param key The key to register the prototype with
+     * @param prototype The furniture prototype to register
+     */
+    public void register(PrototypeKey key, Furniture prototype) {
+        prototypes.compute(key, (k, old) -> {
+            suppliers.remove(k);
+            return prototype;
+        });
+        
+        // Instances pooled from a replaced prototype must not be handed out again
+        pools.remove(key);
+        fireRegistered(key);
+    }
+    
+    /**
+     * Register a prototype that is created on first use.
+     * Safe to call while other threads are cloning prototypes.
+     * @param key The key to register the prototype with
+     * @param supplier Creates the prototype the first time it is needed
+     */
+    public void registerLazy(PrototypeKey key, Supplier<? extends Furniture> supplier) {
+        // Swap under the key's lock, so cloning threads never find neither the old nor the new prototype
+        prototypes.compute(key, (k, old) -> {
+            suppliers.put(k, supplier);
+            return null;
+        });
+        pools.remove(key);
+        fireRegistered(key);
+    }
+    
+    /**
+     * Remove a prototype
+     * @param key The key of the prototype to remove
+     */
+    public void unregister(PrototypeKey key) {
+        // Supplier first, so no cloning thread can create the prototype again once it is removed
+        boolean removed = suppliers.remove(key) != null;
+        removed |= prototypes.remove(key) != null;
+        pools.remove(key);
+        if (removed) {
+            fireRegistered(key);
+        }
+    }
+    
+    /**
+     * Add a listener that is called on the registering thread whenever a prototype is registered
+     * or removed, and on the cloning thread when a lazy prototype is created; the listener finds
+     * out which by looking the key up
+     * @param listener Receives the key of the registered or removed prototype
+     */
+    public void addRegistrationListener(Consumer<PrototypeKey> listener) {
+        registrationListeners.add(listener);
+    }
+    
+    /**
+     * Remove a registration listener
+     * @param listener The listener to remove
+     */
+    public void removeRegistrationListener(Consumer<PrototypeKey> listener) {
+        registrationListeners.remove(listener);
+    }
+    
+    private void fireRegistered(PrototypeKey key) {
+        for (Consumer<PrototypeKey> listener : registrationListeners) {
+            listener.accept(key);
+        }
+    }
+    
+    /**
+     * Register a furniture prototype under a string key, matched case-insensitively
      * @param key The key to register the prototype with
      * @param prototype The furniture prototype to register
      */
     public void register(String key, Furniture prototype) {
-        prototypes.put(key.toLowerCase(), prototype);
+        register(PrototypeKey.of(key), prototype);
     }
     
     /**
      * Get a clone of a registered prototype
      * @param key The key of the prototype to clone
-     * @return A clone of the prototype
+     * @return A clone of the prototype, or null if no prototype is registered
      */
-    public Furniture getClone(String key) {
-        Furniture prototype = prototypes.get(key.toLowerCase());
+    public Furniture getClone(PrototypeKey key) {
+        Furniture prototype = getPrototype(key);
         if (prototype == null) {
             return null;
         }
@@ -85,12 +237,279 @@ public class FurniturePrototypeRegistry {
         return prototype.clone();
     }
     
+    /**
+     * Get the name of a prototype without creating it: the catalog or prototype name if known,
+     * otherwise the style and type of its factory, e.g. "Rustic Chair", or else the key name
+     * @param key The key of the prototype
+     * @return The name, or null if no prototype is registered
+     */
+    public String getName(PrototypeKey key) {
+        FurnitureSpec spec = getPendingSpec(key);
+        if (spec != null) {
+            return spec.getName();
+        }
+        Furniture prototype = prototypes.get(key);
+        if (prototype != null) {
+            return prototype.getName();
+        }
+        Supplier<? extends Furniture> supplier = suppliers.get(key);
+        if (supplier instanceof FactorySupplier) {
+            FactorySupplier factorySupplier = (FactorySupplier) supplier;
+            String type = factorySupplier.type.getId();
+            return factorySupplier.factory.getStyleName() + " " + Character.toUpperCase(type.charAt(0)) + type.substring(1);
+        }
+        // A prototype created between the reads above is announced to the listeners
+        return containsKey(key) ? key.getName() : null;
+    }
+    
+    /**
+     * Get a clone of a prototype only if it has been created already, never creating a lazy one
+     * @param key The key of the prototype to clone
+     * @return A clone of the prototype, or null if it is not registered or not created yet
+     */
+    public Furniture getCloneIfCreated(PrototypeKey key) {
+        Furniture prototype = prototypes.get(key);
+        return prototype != null ? prototype.clone() : null;
+    }
+    
+    /**
+     * Get a clone of a registered prototype
+     * @param key The key of the prototype to clone, matched case-insensitively
+     * @return A clone of the prototype, or null if no prototype is registered
+     */
+    public Furniture getClone(String key) {
+        PrototypeKey prototypeKey = PrototypeKey.lookup(key);
+        return prototypeKey != null ? getClone(prototypeKey) : null;
+    }
+    
+    /**
+     * Get many clones of a registered prototype, resolving the prototype only once
+     * @param key The key of the prototype to clone
+     * @param count The number of clones to create
+     * @return An array of clones, or null if no prototype is registered
+     * @throws IllegalArgumentException If count is negative
+     */
+    public Furniture[] getClones(PrototypeKey key, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+        Furniture prototype = getPrototype(key);
+        if (prototype == null) {
+            return null;
+        }
+        
+        Furniture[] clones = new Furniture[count];
+        fill(prototype, clones);
+        return clones;
+    }
+    
+    /**
+     * Fill an array with clones of a registered prototype
+     * @param key The key of the prototype to clone
+     * @param dest The array to fill completely
+     * @return The number of clones written, 0 if no prototype is registered
+     */
+    public int cloneInto(PrototypeKey key, Furniture[] dest) {
+        Furniture prototype = getPrototype(key);
+        if (prototype == null) {
+            return 0;
+        }
+        
+        fill(prototype, dest);
+        return dest.length;
+    }
+    
+    /**
+     * Get a stream of clones of a registered prototype.
+     * Large streams are parallel so downstream work is spread across cores.
+     * @param key The key of the prototype to clone
+     * @param count The number of clones in the stream
+     * @return A stream of clones, empty if no prototype is registered
+     * @throws IllegalArgumentException If count is negative
+     */
+    public Stream<Furniture> clones(PrototypeKey key, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+        Furniture prototype = getPrototype(key);
+        if (prototype == null) {
+            return Stream.empty();
+        }
+        
+        IntStream indices = IntStream.range(0, count);
+        if (count >= PARALLEL_CLONE_THRESHOLD) {
+            indices = indices.parallel();
+        }
+        return indices.mapToObj(i -> prototype.clone());
+    }
+    
+    /**
+     * Get the recycling pool of a registered prototype.
+     * Pooling is optional: callers that acquire from the pool release instances back to it
+     * instead of discarding them.
+     * @param key The key of the prototype
+     * @return The pool, or null if no prototype is registered
+     */
+    public FurniturePool getPool(PrototypeKey key) {
+        while (true) {
+            FurniturePool pool = pools.get(key);
+            if (pool == null) {
+                // Create a lazy prototype first, outside the pool map
+                if (getPrototype(key) == null) {
+                    return null;
+                }
+                // Build the pool from the prototype registered now; a register() that replaces it
+                // afterwards removes this pool, since its pools.remove() waits for the computation
+                pool = pools.computeIfAbsent(key, k -> {
+                    Furniture prototype = prototypes.get(k);
+                    return prototype != null ? new FurniturePool(prototype, DEFAULT_POOL_CAPACITY) : null;
+                });
+                if (pool == null) {
+                    continue;
+                }
+            }
+            
+            // Instances pooled from a replaced prototype must not be handed out again
+            if (pool.getPrototype() == prototypes.get(key)) {
+                return pool;
+            }
+            pools.remove(key, pool);
+        }
+    }
+    
+    /**
+     * Fill every slot of an array with clones of a prototype
+     */
+    private static void fill(Furniture prototype, Furniture[] dest) {
+        if (dest.length >= PARALLEL_CLONE_THRESHOLD) {
+            Arrays.parallelSetAll(dest, i -> prototype.clone());
+            return;
+        }
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = prototype.clone();
+        }
+    }
+    
     /**
      * Check if a prototype exists
      * @param key The key to check
      * @return True if the prototype exists, false otherwise
      */
+    public boolean containsKey(PrototypeKey key) {
+        if (prototypes.containsKey(key) || suppliers.containsKey(key)) {
+            return true;
+        }
+        
+        // Both reads may have fallen between a registration's updates; repeat them under the key's lock
+        boolean[] lazy = new boolean[1];
+        Furniture prototype = prototypes.computeIfAbsent(key, k -> {
+            lazy[0] = suppliers.containsKey(k);
+            return null;
+        });
+        return prototype != null || lazy[0];
+    }
+    
+    /**
+     * Check if a prototype exists
+     * @param key The key to check, matched case-insensitively
+     * @return True if the prototype exists, false otherwise
+     */
     public boolean containsKey(String key) {
-        return prototypes.containsKey(key.toLowerCase());
+        PrototypeKey prototypeKey = PrototypeKey.lookup(key);
+        return prototypeKey != null && containsKey(prototypeKey);
+    }
+    
+    /**
+     * Get the keys of all registered prototypes, including ones not created yet
+     * @return Unmodifiable copy of the registered keys
+     */
+    public Set<PrototypeKey> getKeys() {
+        Set<PrototypeKey> keys = new HashSet<>(prototypes.keySet());
+        keys.addAll(suppliers.keySet());
+        return Collections.unmodifiableSet(keys);
+    }
+    
+    /**
+     * Get the catalog spec a lazily registered prototype will be created from, without creating it
+     * @param key The key of the prototype
+     * @return The spec, or null if the prototype has been created already, is not registered,
+     *         or is not created by a catalog factory
+     */
+    public FurnitureSpec getPendingSpec(PrototypeKey key) {
+        Supplier<? extends Furniture> supplier = suppliers.get(key);
+        if (supplier instanceof FactorySupplier) {
+            FactorySupplier factorySupplier = (FactorySupplier) supplier;
+            if (factorySupplier.factory instanceof CatalogFurnitureFactory) {
+                return ((CatalogFurnitureFactory) factorySupplier.factory).getSpec(factorySupplier.type);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Create every lazy prototype on a background thread, restoring them from the catalog
+     * snapshot when an up-to-date one is available
+     */
+    public void warmUpInBackground() {
+        Thread thread = new Thread(this::warmUp, "prototype-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+    
+    /**
+     * Create every lazy prototype, restoring them from the catalog snapshot when possible.
+     * The snapshot only covers the built-in catalog, so prototypes of plugin factories,
+     * including plugins that replace a built-in style, are always created by their factory.
+     */
+    public void warmUp() {
+        Map<PrototypeKey, Furniture> snapshot = CatalogSnapshot.restore(CatalogSnapshot.getDefaultFile());
+        FactoryManager factoryManager = FactoryManager.getInstance();
+        
+        for (PrototypeKey key : suppliers.keySet()) {
+            Supplier<? extends Furniture> supplier = suppliers.get(key);
+            boolean fromCatalog = supplier instanceof FactorySupplier
+                    && factoryManager.isBuiltIn(((FactorySupplier) supplier).factory);
+            Furniture restored = snapshot != null && fromCatalog ? snapshot.get(key) : null;
+            if (restored != null) {
+                // Only if the supplier was not replaced while the snapshot was read
+                prototypes.compute(key, (k, existing) ->
+                        existing == null && suppliers.remove(k, supplier) ? restored : existing);
+            } else {
+                getPrototype(key);
+            }
+        }
+    }
+    
+    /**
+     * Get a registered prototype, creating it first if it was registered lazily
+     * @param key The key of the prototype
+     * @return The prototype, or null if none is registered
+     */
+    private Furniture getPrototype(PrototypeKey key) {
+        Furniture prototype = prototypes.get(key);
+        if (prototype != null) {
+            return prototype;
+        }
+        
+        // Look the supplier up while holding the key's lock: unlocked reads of the two maps
+        // could fall between a registration's updates and find neither
+        boolean[] created = new boolean[1];
+        prototype = prototypes.computeIfAbsent(key, k -> {
+            Supplier<? extends Furniture> current = suppliers.get(k);
+            if (current == null) {
+                return null;
+            }
+            Furniture result = current.get();
+            suppliers.remove(k, current);
+            created[0] = result != null;
+            return result;
+        });
+        
+        // Listeners can now see the prototype's real name and description
+        if (created[0]) {
+            fireRegistered(key);
+        }
+        return prototype;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.furniture.patterns;
+
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.factory.FurnitureFactoryProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Directory of plugin jars, each loaded in its own class loader so it can be replaced or removed.
+ * Plugins found in one scan are loaded in parallel, so the time to load them is close to the
+ * time of the slowest plugin rather than the sum of all.
+ */
+class PluginDirectory {
+    // Minimum number of threads loading plugins in parallel
+    private static final int MIN_LOADER_THREADS = 16;
+
+    /**
+     * A loaded plugin jar and the factories it contributed
+     */
+    private static class Plugin {
+        private final long lastModified;
+        private final long length;
+        private final URLClassLoader loader;
+        private final List<FurnitureFactory> factories;
+
+        Plugin(File jar, URLClassLoader loader, List<FurnitureFactory> factories) {
+            this.lastModified = jar.lastModified();
+            this.length = jar.length();
+            this.loader = loader;
+            this.factories = factories;
+        }
+
+        boolean isCurrent(File jar) {
+            return jar.lastModified() == lastModified && jar.length() == length;
+        }
+    }
+
+    private final File directory;
+
+    // Loaded plugins by jar file, guarded by this
+    private final Map<File, Plugin> plugins = new HashMap<>();
+
+    PluginDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the factories of all loaded plugins
+     * @return The factories
+     */
+    synchronized List<FurnitureFactory> getFactories() {
+        List<FurnitureFactory> factories = new ArrayList<>();
+        for (Plugin plugin : plugins.values()) {
+            factories.addAll(plugin.factories);
+        }
+        return factories;
+    }
+
+    /**
+     * Bring the loaded plugins in line with the jars in the directory: unload plugins whose jar was
+     * removed or changed, then load new and changed jars in parallel
+     * @param onLoad Receives every factory of a newly loaded plugin
+     * @param onUnload Receives every factory of an unloaded plugin
+     */
+    synchronized void reload(Consumer<FurnitureFactory> onLoad, Consumer<FurnitureFactory> onUnload) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".jar"));
+        List<File> jars = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                jars.add(file.getAbsoluteFile());
+            }
+        }
+
+        // Unload removed and changed plugins
+        for (Iterator<Map.Entry<File, Plugin>> it = plugins.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<File, Plugin> entry = it.next();
+            if (!jars.contains(entry.getKey()) || !entry.getValue().isCurrent(entry.getKey())) {
+                entry.getValue().factories.forEach(onUnload);
+                close(entry.getValue().loader);
+                it.remove();
+            }
+        }
+
+        jars.removeIf(plugins::containsKey);
+        if (jars.isEmpty()) {
+            return;
+        }
+
+        // Load the new jars in parallel; each task only touches its own class loader.
+        // Plugin initialization is often I/O bound, so use more threads than cores.
+        int threads = Math.min(jars.size(), Math.max(MIN_LOADER_THREADS, Runtime.getRuntime().availableProcessors() * 2));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "plugin-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Plugin>> loads = new ArrayList<>();
+            for (File jar : jars) {
+                loads.add(CompletableFuture.supplyAsync(() -> load(jar), executor));
+            }
+            for (int i = 0; i < jars.size(); i++) {
+                Plugin plugin = loads.get(i).join();
+                if (plugin != null) {
+                    plugins.put(jars.get(i), plugin);
+                    plugin.factories.forEach(onLoad);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Load the providers of one jar and create their factories
+     * @return The plugin, or null if the jar could not be loaded
+     */
+    private static Plugin load(File jar) {
+        URLClassLoader loader;
+        try {
+            loader = new URLClassLoader(new URL[] {jar.toURI().toURL()}, PluginDirectory.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            System.err.println("Invalid plugin path " + jar + ": " + e.getMessage());
+            return null;
+        }
+
+        try {
+            List<FurnitureFactory> factories = new ArrayList<>();
+            // Only providers defined by this jar; providers on the application class path are built in
+            ServiceLoader.load(FurnitureFactoryProvider.class, loader).stream()
+                    .filter(provider -> provider.type().getClassLoader() == loader)
+                    .forEach(provider -> factories.addAll(provider.get().getFactories()));
+
+            if (factories.isEmpty()) {
+                System.err.println("Plugin " + jar.getName() + " provides no furniture factories");
+            }
+            return new Plugin(jar, loader, factories);
+        } catch (ServiceConfigurationError | RuntimeException | LinkageError e) {
+            System.err.println("Failed to load plugin " + jar.getName() + ": " + e);
+            close(loader);
+            return null;
+        }
+    }
+
+    private static void close(URLClassLoader loader) {
+        try {
+            loader.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close plugin class loader: " + e.getMessage());
+        }
+    }
+}
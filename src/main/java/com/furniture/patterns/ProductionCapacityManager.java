@@ -0,0 +1,144 @@
+package com.furniture.patterns;
+
+import com.furniture.factory.CapacityLimitedFactory;
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.model.FurnitureType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Singleton that admits or rejects orders against the production capacity of each style.
+ * Every factory of the {@link FactoryManager} gets a {@link CapacityLimitedFactory} on its first
+ * reservation. Admission is a few compare-and-set operations on striped counters and never blocks.
+ * Capacities set with {@link #setCapacity} are kept per style name, so they also apply to a
+ * factory that replaces the style later, e.g. after a plugin reload.
+ */
+public class ProductionCapacityManager {
+    // Singleton instance, created when the holder class is first loaded
+    private static class InstanceHolder {
+        static final ProductionCapacityManager INSTANCE = new ProductionCapacityManager();
+    }
+
+    // Default capacity of each style and furniture type
+    public static final long DEFAULT_UNITS_PER_SECOND = 1000;
+    public static final long DEFAULT_BURST = 5000;
+
+    /**
+     * Configured capacity of one style
+     */
+    private static class Capacity {
+        private final long unitsPerSecond;
+        private final long burst;
+
+        Capacity(long unitsPerSecond, long burst) {
+            this.unitsPerSecond = unitsPerSecond;
+            this.burst = burst;
+        }
+    }
+
+    // Capacity-limited factories by lower-case style name
+    private final Map<String, CapacityLimitedFactory> factories;
+
+    // Capacities set with setCapacity by lower-case style name; other styles get the default
+    private final Map<String, Capacity> capacities = new ConcurrentHashMap<>();
+
+    // Private constructor to prevent instantiation
+    private ProductionCapacityManager() {
+        factories = new ConcurrentHashMap<>();
+        
+        // Drop the capacity of styles that are replaced or removed, e.g. by a plugin reload.
+        // Runs during class initialization, so this must not trigger loading the plugins.
+        FactoryManager.getInstanceWithoutPlugins().addFactoryListener(new FactoryListener() {
+            @Override
+            public void factoryRegistered(FurnitureFactory factory) {
+                factories.remove(factory.getStyleName().toLowerCase());
+            }
+            
+            @Override
+            public void factoryRemoved(FurnitureFactory factory) {
+                factories.remove(factory.getStyleName().toLowerCase());
+            }
+        });
+    }
+
+    /**
+     * Get the singleton instance
+     * @return The singleton instance
+     */
+    public static ProductionCapacityManager getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Set the capacity of a style, replacing any reservations made so far.
+     * The capacity is kept when the factory of the style is replaced.
+     * @param styleName The style name
+     * @param unitsPerSecond The number of units of each type produced per second
+     * @param burst The number of units of each type that can be reserved at once
+     */
+    public void setCapacity(String styleName, long unitsPerSecond, long burst) {
+        FurnitureFactory factory = FactoryManager.getInstance().getFactory(styleName);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown style: " + styleName);
+        }
+        String key = styleName.toLowerCase();
+        CapacityLimitedFactory limited = new CapacityLimitedFactory(factory, unitsPerSecond, burst);
+        capacities.put(key, new Capacity(unitsPerSecond, burst));
+        factories.put(key, limited);
+    }
+
+    /**
+     * Reserve production capacity without blocking
+     * @param styleName The style name
+     * @param type The furniture type
+     * @param quantity The number of units
+     * @return True if the order is admitted, false if it is rejected or the style is unknown
+     */
+    public boolean tryReserve(String styleName, FurnitureType type, int quantity) {
+        CapacityLimitedFactory factory = getFactory(styleName);
+        return factory != null && factory.tryReserve(type, quantity);
+    }
+
+    /**
+     * Return reserved capacity that will not be used
+     * @param styleName The style name
+     * @param type The furniture type
+     * @param quantity The number of units
+     */
+    public void release(String styleName, FurnitureType type, int quantity) {
+        CapacityLimitedFactory factory = getFactory(styleName);
+        if (factory != null) {
+            factory.release(type, quantity);
+        }
+    }
+
+    /**
+     * Get the capacity-limited factory of a style, creating it with the configured or default
+     * capacity on first use and again whenever the factory of the style has been replaced
+     * @param styleName The style name
+     * @return The factory, or null if the style is unknown
+     */
+    public CapacityLimitedFactory getFactory(String styleName) {
+        String key = styleName.toLowerCase();
+        FactoryManager manager = FactoryManager.getInstance();
+        while (true) {
+            FurnitureFactory delegate = manager.getFactory(styleName);
+            if (delegate == null) {
+                return null;
+            }
+            CapacityLimitedFactory factory = factories.computeIfAbsent(key, k -> {
+                Capacity capacity = capacities.get(k);
+                return capacity != null
+                        ? new CapacityLimitedFactory(delegate, capacity.unitsPerSecond, capacity.burst)
+                        : new CapacityLimitedFactory(delegate, DEFAULT_UNITS_PER_SECOND, DEFAULT_BURST);
+            });
+
+            // The style may have been replaced before its listener dropped the old wrapper
+            if (factory.getFactory() == delegate && manager.getFactory(styleName) == delegate) {
+                return factory;
+            }
+            factories.remove(key, factory);
+        }
+    }
+}
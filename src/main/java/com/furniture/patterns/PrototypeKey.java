@@ -0,0 +1,143 @@
+package com.furniture.patterns;
+
+import com.furniture.model.FurnitureType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interned, case-insensitive key of a prototype in the {@link FurniturePrototypeRegistry}.
+ * Keys are normalized once when first requested and then reused, so resolving a key that
+ * has been seen before performs no String allocation.
+ * <p>
+ * Interned keys are never released, so {@link #of(String)} is meant for catalog and
+ * application keys. Strings from users or clients must be resolved with {@link #lookup(String)}.
+ */
+public final class PrototypeKey {
+    // Keys by style spelling, one slot per furniture type
+    private static final ConcurrentMap<String, PrototypeKey[]> STYLE_KEYS = new ConcurrentHashMap<>();
+
+    // Keys by their string form, including spellings with different case
+    private static final ConcurrentMap<String, PrototypeKey> NAMED_KEYS = new ConcurrentHashMap<>();
+
+    private final String style;
+    private final FurnitureType type;
+    private final String name;
+
+    private PrototypeKey(String style, FurnitureType type, String name) {
+        this.style = style;
+        this.type = type;
+        this.name = name;
+    }
+
+    /**
+     * Get the key of a style's furniture prototype
+     * @param style The style name in any case, e.g. "Art Deco"
+     * @param type The furniture type
+     * @return The interned key
+     */
+    public static PrototypeKey of(String style, FurnitureType type) {
+        PrototypeKey[] keys = STYLE_KEYS.get(style);
+        if (keys == null) {
+            keys = internStyle(style);
+        }
+        return keys[type.ordinal()];
+    }
+
+    /**
+     * Get the key for a string such as "modern_chair" or a custom prototype name
+     * @param key The key in any case
+     * @return The interned key
+     */
+    public static PrototypeKey of(String key) {
+        PrototypeKey prototypeKey = NAMED_KEYS.get(key);
+        if (prototypeKey == null) {
+            prototypeKey = internName(key);
+        }
+        return prototypeKey;
+    }
+
+    /**
+     * Find the key for a string without interning it, for input that is not trusted
+     * @param key The key in any case
+     * @return The existing key, or null if no key with this name has been created
+     */
+    public static PrototypeKey lookup(String key) {
+        PrototypeKey prototypeKey = NAMED_KEYS.get(key);
+        if (prototypeKey == null) {
+            prototypeKey = NAMED_KEYS.get(key.toLowerCase());
+        }
+        return prototypeKey;
+    }
+
+    /**
+     * Create the keys of all furniture types for a style spelling
+     */
+    private static PrototypeKey[] internStyle(String style) {
+        String normalized = style.toLowerCase();
+        PrototypeKey[] keys = STYLE_KEYS.computeIfAbsent(normalized, s -> {
+            FurnitureType[] types = FurnitureType.values();
+            PrototypeKey[] created = new PrototypeKey[types.length];
+            for (FurnitureType type : types) {
+                created[type.ordinal()] = of(s + "_" + type.getId());
+            }
+            return created;
+        });
+        STYLE_KEYS.putIfAbsent(style, keys);
+        return keys;
+    }
+
+    /**
+     * Create the key for a string spelling, splitting off a furniture type suffix if present
+     */
+    private static PrototypeKey internName(String key) {
+        String normalized = key.toLowerCase();
+        PrototypeKey prototypeKey = NAMED_KEYS.computeIfAbsent(normalized, n -> {
+            int separator = n.lastIndexOf('_');
+            FurnitureType type = separator > 0 ? FurnitureType.fromId(n.substring(separator + 1)) : null;
+            String style = type != null ? n.substring(0, separator) : null;
+            return new PrototypeKey(style, type, n);
+        });
+        NAMED_KEYS.putIfAbsent(key, prototypeKey);
+        return prototypeKey;
+    }
+
+    /**
+     * Get the lower-case style of this key
+     * @return The style, or null for a custom key without a furniture type suffix
+     */
+    public String getStyle() {
+        return style;
+    }
+
+    /**
+     * Get the furniture type of this key
+     * @return The furniture type, or null for a custom key without a furniture type suffix
+     */
+    public FurnitureType getType() {
+        return type;
+    }
+
+    /**
+     * Get the lower-case string form of this key, e.g. "modern_chair"
+     * @return The key name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || (obj instanceof PrototypeKey && name.equals(((PrototypeKey) obj).name));
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
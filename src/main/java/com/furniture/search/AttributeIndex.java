@@ -0,0 +1,361 @@
+package com.furniture.search;
+
+import com.furniture.model.Chair;
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only index over the attributes of a set of furniture.
+ * Numeric attributes are kept as {@link SortedColumn}s and boolean attributes and furniture
+ * types as bitmaps. A query intersects one bitmap per condition, so its cost depends on the
+ * number of matching entries rather than on scanning and unboxing every furniture object.
+ * <p>
+ * Example: convertible sofas with at least 3 seats under $2000
+ * <pre>
+ * index.find(new AttributeIndex.Query().convertible(true).minSeats(3).priceBelow(2000));
+ * </pre>
+ */
+public class AttributeIndex {
+
+    /**
+     * Conditions on furniture attributes. Conditions that are not set match everything;
+     * a condition on an attribute only matches furniture types that have that attribute.
+     */
+    public static class Query {
+        private FurnitureType type;
+        private double minPrice = Double.NEGATIVE_INFINITY;
+        private double maxPrice = Double.POSITIVE_INFINITY;
+        private int minLegs = Integer.MIN_VALUE;
+        private int maxLegs = Integer.MAX_VALUE;
+        private int minSeats = Integer.MIN_VALUE;
+        private int maxSeats = Integer.MAX_VALUE;
+        private double minSurfaceArea = Double.NEGATIVE_INFINITY;
+        private double maxSurfaceArea = Double.POSITIVE_INFINITY;
+        private Boolean armrests;
+        private Boolean convertible;
+
+        public Query type(FurnitureType type) {
+            this.type = type;
+            return this;
+        }
+
+        public Query minPrice(double price) {
+            this.minPrice = price;
+            return this;
+        }
+
+        public Query maxPrice(double price) {
+            this.maxPrice = price;
+            return this;
+        }
+
+        /**
+         * Match prices strictly below a limit
+         * @param price The price limit, exclusive
+         * @return This query
+         */
+        public Query priceBelow(double price) {
+            this.maxPrice = Math.nextDown(price);
+            return this;
+        }
+
+        public Query minLegs(int legs) {
+            this.minLegs = legs;
+            return this;
+        }
+
+        public Query maxLegs(int legs) {
+            this.maxLegs = legs;
+            return this;
+        }
+
+        public Query minSeats(int seats) {
+            this.minSeats = seats;
+            return this;
+        }
+
+        public Query maxSeats(int seats) {
+            this.maxSeats = seats;
+            return this;
+        }
+
+        public Query minSurfaceArea(double area) {
+            this.minSurfaceArea = area;
+            return this;
+        }
+
+        public Query maxSurfaceArea(double area) {
+            this.maxSurfaceArea = area;
+            return this;
+        }
+
+        public Query armrests(boolean armrests) {
+            this.armrests = armrests;
+            return this;
+        }
+
+        public Query convertible(boolean convertible) {
+            this.convertible = convertible;
+            return this;
+        }
+
+        private boolean hasLegs() {
+            return minLegs != Integer.MIN_VALUE || maxLegs != Integer.MAX_VALUE;
+        }
+
+        private boolean hasSeats() {
+            return minSeats != Integer.MIN_VALUE || maxSeats != Integer.MAX_VALUE;
+        }
+
+        private boolean hasSurfaceArea() {
+            return minSurfaceArea != Double.NEGATIVE_INFINITY || maxSurfaceArea != Double.POSITIVE_INFINITY;
+        }
+
+        private boolean hasPrice() {
+            return minPrice != Double.NEGATIVE_INFINITY || maxPrice != Double.POSITIVE_INFINITY;
+        }
+    }
+
+    // Indexed furniture by row
+    private final Furniture[] rows;
+
+    // Rows of each furniture type, indexed by ordinal
+    private final BitSet[] typeRows;
+
+    // Boolean attributes: rows where the attribute is true
+    private final BitSet armrestRows;
+    private final BitSet convertibleRows;
+
+    // Numeric attributes
+    private final SortedColumn prices;
+    private final SortedColumn legs;
+    private final SortedColumn seats;
+    private final SortedColumn surfaceAreas;
+
+    /**
+     * Build an index
+     * @param furniture The furniture to index
+     */
+    public AttributeIndex(Collection<? extends Furniture> furniture) {
+        rows = furniture.toArray(new Furniture[0]);
+        int n = rows.length;
+
+        typeRows = new BitSet[FurnitureType.values().length];
+        for (int i = 0; i < typeRows.length; i++) {
+            typeRows[i] = new BitSet(n);
+        }
+        armrestRows = new BitSet(n);
+        convertibleRows = new BitSet(n);
+
+        // Gather each attribute into primitive arrays, keeping only the rows that have it
+        ColumnBuilder priceColumn = new ColumnBuilder(n);
+        ColumnBuilder legColumn = new ColumnBuilder(n);
+        ColumnBuilder seatColumn = new ColumnBuilder(n);
+        ColumnBuilder areaColumn = new ColumnBuilder(n);
+        for (int row = 0; row < n; row++) {
+            Furniture item = rows[row];
+            priceColumn.add(row, item.getPrice());
+
+            if (item instanceof Chair) {
+                Chair chair = (Chair) item;
+                typeRows[FurnitureType.CHAIR.ordinal()].set(row);
+                legColumn.add(row, chair.getNumberOfLegs());
+                armrestRows.set(row, chair.hasArmrests());
+            } else if (item instanceof Sofa) {
+                Sofa sofa = (Sofa) item;
+                typeRows[FurnitureType.SOFA.ordinal()].set(row);
+                seatColumn.add(row, sofa.getNumberOfSeats());
+                convertibleRows.set(row, sofa.isConvertible());
+            } else if (item instanceof Table) {
+                Table table = (Table) item;
+                typeRows[FurnitureType.TABLE.ordinal()].set(row);
+                legColumn.add(row, table.getNumberOfLegs());
+                areaColumn.add(row, table.getSurfaceArea());
+            }
+        }
+
+        prices = priceColumn.build();
+        legs = legColumn.build();
+        seats = seatColumn.build();
+        surfaceAreas = areaColumn.build();
+    }
+
+    /**
+     * Build an index over every prototype in the registry
+     * @return The index
+     */
+    public static AttributeIndex fromRegistry() {
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        List<Furniture> furniture = new ArrayList<>();
+        for (PrototypeKey key : registry.getKeys()) {
+            Furniture prototype = registry.getClone(key);
+            if (prototype != null) {
+                furniture.add(prototype);
+            }
+        }
+        return new AttributeIndex(furniture);
+    }
+
+    /**
+     * Find the rows matching a query
+     * @param query The query
+     * @return The matching rows
+     */
+    public BitSet match(Query query) {
+        int n = rows.length;
+        BitSet result = new BitSet(n);
+        result.set(0, n);
+
+        if (query.type != null) {
+            result.and(typeRows[query.type.ordinal()]);
+        }
+        if (query.armrests != null) {
+            result.and(typeRows[FurnitureType.CHAIR.ordinal()]);
+            andOrAndNot(result, armrestRows, query.armrests);
+        }
+        if (query.convertible != null) {
+            result.and(typeRows[FurnitureType.SOFA.ordinal()]);
+            andOrAndNot(result, convertibleRows, query.convertible);
+        }
+
+        // Range conditions, most selective first
+        List<RangeCondition> ranges = new ArrayList<>(4);
+        if (query.hasSeats()) {
+            ranges.add(new RangeCondition(seats, query.minSeats, query.maxSeats));
+        }
+        if (query.hasLegs()) {
+            ranges.add(new RangeCondition(legs, query.minLegs, query.maxLegs));
+        }
+        if (query.hasSurfaceArea()) {
+            ranges.add(new RangeCondition(surfaceAreas, query.minSurfaceArea, query.maxSurfaceArea));
+        }
+        if (query.hasPrice()) {
+            ranges.add(new RangeCondition(prices, query.minPrice, query.maxPrice));
+        }
+        ranges.sort((a, b) -> Integer.compare(a.count, b.count));
+
+        int candidates = result.cardinality();
+        for (RangeCondition range : ranges) {
+            if (candidates == 0) {
+                break;
+            }
+            // Materialize the range only when it is smaller than the remaining candidates
+            if (range.count < candidates) {
+                result.and(range.column.range(range.min, range.max));
+            } else {
+                range.column.filter(result, range.min, range.max);
+            }
+            candidates = result.cardinality();
+        }
+        return result;
+    }
+
+    /**
+     * Find the furniture matching a query
+     * @param query The query
+     * @return The matching furniture in index order
+     */
+    public List<Furniture> find(Query query) {
+        BitSet matches = match(query);
+        List<Furniture> result = new ArrayList<>(matches.cardinality());
+        for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+            result.add(rows[row]);
+        }
+        return result;
+    }
+
+    /**
+     * Count the furniture matching a query
+     * @param query The query
+     * @return The number of matches
+     */
+    public int count(Query query) {
+        return match(query).cardinality();
+    }
+
+    /**
+     * Count the furniture in a price range without building any bitmap
+     * @param min The lowest price, inclusive
+     * @param max The highest price, inclusive
+     * @return The number of matches
+     */
+    public int countPriceRange(double min, double max) {
+        return prices.count(min, max);
+    }
+
+    /**
+     * Get the furniture of a row
+     * @param row The row from a {@link #match} result
+     * @return The furniture
+     */
+    public Furniture get(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Get the number of indexed furniture items
+     * @return The size of the index
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    private static void andOrAndNot(BitSet result, BitSet attribute, boolean value) {
+        if (value) {
+            result.and(attribute);
+        } else {
+            result.andNot(attribute);
+        }
+    }
+
+    /**
+     * A range condition on one column, with the number of rows in the range
+     */
+    private static class RangeCondition {
+        private final SortedColumn column;
+        private final double min;
+        private final double max;
+        private final int count;
+
+        RangeCondition(SortedColumn column, double min, double max) {
+            this.column = column;
+            this.min = min;
+            this.max = max;
+            this.count = column.count(min, max);
+        }
+    }
+
+    /**
+     * Collects the rows and values of one numeric attribute
+     */
+    private static class ColumnBuilder {
+        private final int[] rows;
+        private final double[] values;
+        private int size;
+
+        ColumnBuilder(int capacity) {
+            rows = new int[capacity];
+            values = new double[capacity];
+        }
+
+        void add(int row, double value) {
+            rows[size] = row;
+            values[size] = value;
+            size++;
+        }
+
+        SortedColumn build() {
+            return new SortedColumn(Arrays.copyOf(rows, size), Arrays.copyOf(values, size), rows.length);
+        }
+    }
+}
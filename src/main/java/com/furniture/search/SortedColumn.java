@@ -0,0 +1,123 @@
+package com.furniture.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * One numeric attribute of the indexed rows, sorted by value.
+ * A range lookup is two binary searches followed by setting the bits of the matching rows.
+ * The values are also kept by row, so a small candidate set can be filtered directly
+ * instead of materializing a large range.
+ */
+class SortedColumn {
+    // Attribute values in ascending order, and the row each value belongs to
+    private final double[] values;
+    private final int[] rows;
+
+    // Attribute value of every indexed row, NaN for rows without the attribute
+    private final double[] valueByRow;
+
+    /**
+     * Create a column
+     * @param rows The rows that have this attribute
+     * @param values The attribute value of each of those rows
+     * @param rowCount The total number of indexed rows
+     */
+    SortedColumn(int[] rows, double[] values, int rowCount) {
+        Integer[] order = IntStream.range(0, rows.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingDouble(i -> values[i]));
+
+        this.values = new double[rows.length];
+        this.rows = new int[rows.length];
+        for (int i = 0; i < order.length; i++) {
+            this.values[i] = values[order[i]];
+            this.rows[i] = rows[order[i]];
+        }
+
+        this.valueByRow = new double[rowCount];
+        Arrays.fill(valueByRow, Double.NaN);
+        for (int i = 0; i < rows.length; i++) {
+            valueByRow[rows[i]] = values[i];
+        }
+    }
+
+    /**
+     * Find the rows whose value lies in a range
+     * @param min The smallest matching value, inclusive
+     * @param max The largest matching value, inclusive
+     * @return The matching rows
+     */
+    BitSet range(double min, double max) {
+        BitSet result = new BitSet(valueByRow.length);
+        for (int i = lowerBound(min), end = upperBound(max); i < end; i++) {
+            result.set(rows[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Remove the candidates whose value does not lie in a range, or that lack the attribute
+     * @param candidates The rows to filter in place
+     * @param min The smallest matching value, inclusive
+     * @param max The largest matching value, inclusive
+     */
+    void filter(BitSet candidates, double min, double max) {
+        // Walk the bitmap a word at a time instead of bit by bit
+        long[] words = candidates.toLongArray();
+        for (int i = 0; i < words.length; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                int bit = Long.numberOfTrailingZeros(word);
+                double value = valueByRow[i * Long.SIZE + bit];
+                // NaN fails both comparisons, so rows without the attribute are removed
+                if (!(value >= min && value <= max)) {
+                    words[i] &= ~(1L << bit);
+                }
+            }
+        }
+        candidates.clear();
+        candidates.or(BitSet.valueOf(words));
+    }
+
+    /**
+     * Count the rows whose value lies in a range, without building a bitmap
+     */
+    int count(double min, double max) {
+        return Math.max(0, upperBound(max) - lowerBound(min));
+    }
+
+    /**
+     * Index of the first value that is not less than the given one
+     */
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first value that is greater than the given one
+     */
+    private int upperBound(double value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,345 @@
+package com.furniture.search;
+
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureSpec;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over furniture names and descriptions for type-ahead search.
+ * Every query word is matched as a prefix against a sorted term dictionary, so "min cha"
+ * finds "Minimalist chair". A result must match every query word and is ranked by how
+ * rare its matching terms are, with name matches and whole-word matches counting more.
+ * <p>
+ * Entries can be added and replaced at any time. Replaced entries are skipped during
+ * searches and dropped once they make up half of the index.
+ */
+public class TextIndex {
+    // Term weight of a word in the name relative to one in the description
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Score factor for a query word that is only a prefix of the term
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    // Number of replaced entries from which the index is rebuilt
+    private static final int MIN_COMPACT_SIZE = 1024;
+
+    /**
+     * One search result
+     */
+    public static class Hit {
+        private final PrototypeKey key;
+        private final String name;
+        private final float score;
+
+        Hit(PrototypeKey key, String name, float score) {
+            this.key = key;
+            this.name = name;
+            this.score = score;
+        }
+
+        public PrototypeKey getKey() {
+            return key;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Documents containing one term, with the weight of the term in each
+     */
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+    }
+
+    // Term dictionary, sorted so all terms with a prefix form one contiguous range
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    // Documents by id: key, name and description; ids of replaced documents are marked deleted
+    private final List<PrototypeKey> docKeys = new ArrayList<>();
+    private final List<String> docNames = new ArrayList<>();
+    private final List<String> docDescriptions = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private final Map<PrototypeKey, Integer> docIds = new HashMap<>();
+
+    // Scratch arrays reused by every search: score, and the last query word each document matched
+    private float[] scores = new float[0];
+    private int[] matchedWords = new int[0];
+
+    /**
+     * Create an index that follows the prototype registry: it indexes every registered prototype
+     * and every prototype registered later. No prototype is created to be indexed: lazy catalog
+     * prototypes are indexed from their catalog spec, other lazy prototypes under the name the
+     * registry gives them, e.g. "Rustic Chair", and again with their real name and description
+     * once they are created.
+     * @return The index
+     */
+    public static TextIndex forRegistry() {
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        TextIndex index = new TextIndex();
+
+        // Listen first so no registration is missed; indexing a key twice just replaces it
+        registry.addRegistrationListener(key -> index.add(registry, key));
+        for (PrototypeKey key : registry.getKeys()) {
+            index.add(registry, key);
+        }
+        return index;
+    }
+
+    /**
+     * Index the prototype registered under a key without creating it, or remove the entry if there is none
+     */
+    private void add(FurniturePrototypeRegistry registry, PrototypeKey key) {
+        FurnitureSpec spec = registry.getPendingSpec(key);
+        if (spec != null) {
+            add(key, spec.getName(), spec.getDescription());
+            return;
+        }
+        Furniture furniture = registry.getCloneIfCreated(key);
+        if (furniture != null) {
+            add(key, furniture);
+            return;
+        }
+        String name = registry.getName(key);
+        if (name != null) {
+            add(key, name, null);
+        } else {
+            remove(key);
+        }
+    }
+
+    /**
+     * Index furniture, replacing any entry with the same key
+     * @param key The key the furniture is found under
+     * @param furniture The furniture, or null to remove the entry
+     */
+    public void add(PrototypeKey key, Furniture furniture) {
+        if (furniture == null) {
+            remove(key);
+        } else {
+            add(key, furniture.getName(), furniture.getDescription());
+        }
+    }
+
+    /**
+     * Index a name and description, replacing any entry with the same key
+     * @param key The key the entry is found under
+     * @param name The name
+     * @param description The description
+     */
+    public synchronized void add(PrototypeKey key, String name, String description) {
+        remove(key);
+
+        int doc = docKeys.size();
+        docKeys.add(key);
+        docNames.add(name);
+        docDescriptions.add(description);
+        docIds.put(key, doc);
+
+        // Weight of each term in this document, name words counting more than description words
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(name)) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), t -> new Postings()).add(doc, entry.getValue());
+        }
+    }
+
+    /**
+     * Remove an entry
+     * @param key The key of the entry
+     */
+    public synchronized void remove(PrototypeKey key) {
+        Integer doc = docIds.remove(key);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+
+        int deletedCount = deleted.cardinality();
+        if (deletedCount >= MIN_COMPACT_SIZE && deletedCount * 2 >= docKeys.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Get the number of entries
+     * @return The number of indexed keys
+     */
+    public synchronized int size() {
+        return docIds.size();
+    }
+
+    /**
+     * Search for entries matching every word of a query
+     * @param query The query, e.g. "metal fr"
+     * @param limit The maximum number of results
+     * @return The best results, highest score first
+     */
+    public synchronized List<Hit> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // The scratch arrays are all zero between searches; only touched entries are reset afterwards
+        int docCount = docKeys.size();
+        if (scores.length < docCount) {
+            scores = new float[docCount * 2];
+            matchedWords = new int[docCount * 2];
+        }
+
+        // Documents matching every word so far; the first word starts the candidate list
+        int[] candidates = null;
+        int candidateCount = 0;
+        float liveDocs = Math.max(1, docIds.size());
+
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            int wordNumber = w + 1;
+            for (Map.Entry<String, Postings> entry : terms.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+                Postings postings = entry.getValue();
+                float idf = (float) Math.log(1 + liveDocs / postings.size);
+                float factor = entry.getKey().length() == word.length() ? idf : idf * PREFIX_FACTOR;
+
+                for (int i = 0; i < postings.size; i++) {
+                    int doc = postings.docs[i];
+                    // Only documents that matched all previous words can still match
+                    if (matchedWords[doc] >= wordNumber - 1 && !deleted.get(doc)) {
+                        // A word may match a document through several terms; list the document once
+                        if (w == 0 && matchedWords[doc] == 0) {
+                            if (candidates == null) {
+                                candidates = new int[16];
+                            } else if (candidateCount == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                            }
+                            candidates[candidateCount++] = doc;
+                        }
+                        matchedWords[doc] = wordNumber;
+                        scores[doc] += postings.weights[i] * factor;
+                    }
+                }
+            }
+            if (candidates == null) {
+                return new ArrayList<>();
+            }
+        }
+
+        // Select the best candidates that matched the last word with a bounded min-heap
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, (a, b) -> compareDocs(b, a));
+        for (int i = 0; i < candidateCount; i++) {
+            int doc = candidates[i];
+            if (matchedWords[doc] == words.size()) {
+                if (best.size() < limit) {
+                    best.add(doc);
+                } else if (compareDocs(doc, best.peek()) < 0) {
+                    best.poll();
+                    best.add(doc);
+                }
+            }
+        }
+
+        Hit[] hits = new Hit[best.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int doc = best.poll();
+            hits[i] = new Hit(docKeys.get(doc), docNames.get(doc), scores[doc]);
+        }
+
+        for (int i = 0; i < candidateCount; i++) {
+            scores[candidates[i]] = 0f;
+            matchedWords[candidates[i]] = 0;
+        }
+        return new ArrayList<>(Arrays.asList(hits));
+    }
+
+    /**
+     * Order documents by descending score, then by name
+     */
+    private int compareDocs(int a, int b) {
+        if (scores[a] != scores[b]) {
+            return Float.compare(scores[b], scores[a]);
+        }
+        return docNames.get(a).compareTo(docNames.get(b));
+    }
+
+    /**
+     * Rebuild the index from the live entries, dropping replaced ones
+     */
+    private void compact() {
+        List<PrototypeKey> keys = new ArrayList<>(docKeys);
+        List<String> names = new ArrayList<>(docNames);
+        List<String> descriptions = new ArrayList<>(docDescriptions);
+        BitSet dead = (BitSet) deleted.clone();
+
+        terms.clear();
+        docKeys.clear();
+        docNames.clear();
+        docDescriptions.clear();
+        deleted.clear();
+        docIds.clear();
+        for (int doc = dead.nextClearBit(0); doc < keys.size(); doc = dead.nextClearBit(doc + 1)) {
+            add(keys.get(doc), names.get(doc), descriptions.get(doc));
+        }
+    }
+
+    /**
+     * Split text into lower-case words of letters and digits
+     * @param text The text
+     * @return The words
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,426 @@
+package com.furniture.server;
+
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.model.AbstractFurniture;
+import com.furniture.model.Furniture;
+import com.furniture.patterns.FactoryManager;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+import com.furniture.search.TextIndex;
+import com.furniture.utils.ImageBundle;
+import com.furniture.utils.ImageCache;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+
+/**
+ * Local HTTP/JSON service over the furniture catalog, for embedding behind a web frontend.
+ * <ul>
+ *   <li>{@code GET /api/styles} - the styles of all factories</li>
+ *   <li>{@code GET /api/prototypes} - the keys of all prototypes</li>
+ *   <li>{@code GET /api/prototypes/<key>} - a clone of a prototype</li>
+ *   <li>{@code GET /api/prototypes/<key>/image[?size=<pixels>]} - its image as PNG, with ETag support;
+ *       the size is one of the standard {@link ImageCache} sizes, or the full image if omitted</li>
+ *   <li>{@code GET /api/search?q=<words>} - full-text search over names and descriptions</li>
+ *   <li>{@code GET /images/<style>/<type>.png} - a catalog image as stored in the image bundle</li>
+ * </ul>
+ * Full-size catalog images are served from the memory-mapped {@link ImageBundle} without decoding.
+ * The server binds to the loopback address only.
+ * <p>
+ * Usage: {@code java -cp bin com.furniture.server.CatalogServer [port]}
+ */
+public class CatalogServer {
+    // Port used when none is given
+    public static final int DEFAULT_PORT = 8080;
+
+    // Maximum number of search results returned
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    // Maximum number of encoded images kept for reuse
+    private static final int MAX_ENCODED_IMAGES = 256;
+
+    // Image sizes clients may request; anything else would let a client allocate arbitrarily large images
+    private static final int[] IMAGE_SIZES = {
+        ImageCache.THUMBNAIL_SIZE, ImageCache.DISPLAY_SIZE, ImageCache.LARGE_SIZE
+    };
+
+    // JDK server property that disables Nagle's algorithm, read once when the first server is created
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final String PROTOTYPES_PATH = "/api/prototypes";
+    private static final String IMAGE_SUFFIX = "/image";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final FactoryManager factoryManager;
+    private final FurniturePrototypeRegistry registry;
+    private final TextIndex searchIndex;
+    
+    // Encoded catalog images, or null if no bundle could be opened
+    private final ImageBundle imageBundle;
+
+    // Recently served PNGs by prototype key and size, re-encoded when the prototype's image changes
+    private final Map<String, EncodedImage> images = Collections.synchronizedMap(
+            new LinkedHashMap<String, EncodedImage>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, EncodedImage> eldest) {
+                    return size() > MAX_ENCODED_IMAGES;
+                }
+            });
+
+    /**
+     * PNG bytes with their entity tag
+     */
+    private static class EncodedImage {
+        private final Image source;
+        private final byte[] bytes;
+        private final String etag;
+
+        EncodedImage(Image source, byte[] bytes, String etag) {
+            this.source = source;
+            this.bytes = bytes;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * Create a server on a loopback port
+     * @param port The port, or 0 for any free port
+     * @throws IOException If the port cannot be bound
+     */
+    public CatalogServer(int port) throws IOException {
+        factoryManager = FactoryManager.getInstance();
+        registry = FurniturePrototypeRegistry.getInstance();
+        searchIndex = TextIndex.forRegistry();
+        imageBundle = ImageBundle.openDefault();
+
+        // Headers and body are written separately; without TCP_NODELAY every small response
+        // waits for the client's delayed ACK, capping each connection at about 25 requests/second
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/styles", this::handleStyles);
+        server.createContext(PROTOTYPES_PATH, this::handlePrototypes);
+        server.createContext("/api/search", this::handleSearch);
+        server.createContext("/images/", this::handleBundledImage);
+    }
+
+    /**
+     * Create the executor that runs the exchanges: one virtual thread per request where the
+     * runtime supports virtual threads, otherwise a pool of daemon threads that grows with the load
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "catalog-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Start serving requests. Styles of plugins added while the server runs are served as well.
+     */
+    public void start() {
+        factoryManager.startPluginWatcher();
+        server.start();
+    }
+
+    /**
+     * Stop the server, letting running exchanges finish for up to a second
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        if (imageBundle != null) {
+            try {
+                imageBundle.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close image bundle: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the port the server is bound to
+     * @return The port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleStyles(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) {
+            return;
+        }
+        // Sort by id so the response, and thus any client cache, is stable
+        Map<String, FurnitureFactory> factories = new TreeMap<>(factoryManager.getAllFactories());
+        List<String> styles = new ArrayList<>();
+        for (Map.Entry<String, FurnitureFactory> entry : factories.entrySet()) {
+            styles.add("{\"id\":" + Json.quote(entry.getKey())
+                    + ",\"name\":" + Json.quote(entry.getValue().getStyleName()) + "}");
+        }
+        sendJson(exchange, 200, "[" + String.join(",", styles) + "]");
+    }
+
+    private void handlePrototypes(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) {
+            return;
+        }
+        // The context also matches paths such as /api/prototypesXYZ
+        String path = exchange.getRequestURI().getPath().substring(PROTOTYPES_PATH.length());
+        if (!path.isEmpty() && path.charAt(0) != '/') {
+            sendJson(exchange, 404, "{\"error\":" + Json.quote("No resource " + exchange.getRequestURI().getPath()) + "}");
+            return;
+        }
+
+        if (path.isEmpty() || path.equals("/")) {
+            List<String> keys = new ArrayList<>();
+            for (PrototypeKey key : registry.getKeys()) {
+                keys.add(Json.quote(key.getName()));
+            }
+            keys.sort(null);
+            sendJson(exchange, 200, "[" + String.join(",", keys) + "]");
+            return;
+        }
+
+        boolean image = path.endsWith(IMAGE_SUFFIX);
+        String keyName = path.substring(1, image ? path.length() - IMAGE_SUFFIX.length() : path.length());
+        // Look the key up without interning it, so arbitrary request paths cannot grow the key table
+        PrototypeKey key = PrototypeKey.lookup(keyName);
+        Furniture furniture = key != null ? registry.getClone(key) : null;
+        if (furniture == null) {
+            sendJson(exchange, 404, "{\"error\":" + Json.quote("No prototype " + keyName) + "}");
+        } else if (image) {
+            sendImage(exchange, key, furniture);
+        } else {
+            sendJson(exchange, 200, Json.furniture(key, furniture));
+        }
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) {
+            return;
+        }
+        String query = queryParameter(exchange, "q");
+        List<String> results = new ArrayList<>();
+        for (TextIndex.Hit hit : searchIndex.search(query != null ? query : "", MAX_SEARCH_RESULTS)) {
+            results.add("{\"key\":" + Json.quote(hit.getKey().getName())
+                    + ",\"name\":" + Json.quote(hit.getName()) + ",\"score\":" + hit.getScore() + "}");
+        }
+        sendJson(exchange, 200, "[" + String.join(",", results) + "]");
+    }
+
+    private void handleBundledImage(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) {
+            return;
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (imageBundle == null || !imageBundle.contains(path)) {
+            sendJson(exchange, 404, "{\"error\":" + Json.quote("No image " + path) + "}");
+        } else {
+            sendBundledImage(exchange, path);
+        }
+    }
+
+    /**
+     * Send an image from the bundle, or 304 Not Modified if the client already has it
+     */
+    private void sendBundledImage(HttpExchange exchange, String path) throws IOException {
+        String etag = imageBundle.getETag(path);
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "no-cache");
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        headers.set("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, imageBundle.getLength(path));
+        try (OutputStream out = exchange.getResponseBody()) {
+            // The exchange only offers a stream, so the bytes go from the file through its buffer
+            imageBundle.transferTo(path, Channels.newChannel(out));
+        }
+    }
+
+    /**
+     * Send the image of a prototype, or 304 Not Modified if the client already has it
+     */
+    private void sendImage(HttpExchange exchange, PrototypeKey key, Furniture furniture) throws IOException {
+        int size;
+        try {
+            String sizeParameter = queryParameter(exchange, "size");
+            size = sizeParameter != null ? Integer.parseInt(sizeParameter) : 0;
+        } catch (NumberFormatException e) {
+            size = -1;
+        }
+        if (size != 0 && !isImageSize(size)) {
+            sendJson(exchange, 400, "{\"error\":" + Json.quote("size must be one of "
+                    + ImageCache.THUMBNAIL_SIZE + ", " + ImageCache.DISPLAY_SIZE + " or " + ImageCache.LARGE_SIZE) + "}");
+            return;
+        }
+
+        // Full-size catalog images are served as stored, without decoding or encoding
+        if (size == 0 && imageBundle != null && furniture instanceof AbstractFurniture) {
+            String path = ((AbstractFurniture) furniture).getSpec().getImagePath();
+            if (imageBundle.contains(path)) {
+                sendBundledImage(exchange, path);
+                return;
+            }
+        }
+
+        Image source = size > 0 ? furniture.getImage(size) : furniture.getImage();
+        EncodedImage encoded = images.get(key.getName() + "@" + size);
+        if (encoded == null || encoded.source != source) {
+            // First request, or the prototype's image changed: encode once and share the bytes
+            encoded = encode(source);
+            images.put(key.getName() + "@" + size, encoded);
+        }
+
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", encoded.etag);
+        headers.set("Cache-Control", "no-cache");
+        if (encoded.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        headers.set("Content-Type", "image/png");
+        exchange.sendResponseHeaders(200, encoded.bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(encoded.bytes);
+        }
+    }
+
+    private static boolean isImageSize(int size) {
+        for (int imageSize : IMAGE_SIZES) {
+            if (imageSize == size) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encode an image as PNG and derive its entity tag from the bytes
+     */
+    private static EncodedImage encode(Image image) {
+        BufferedImage buffered;
+        if (image instanceof BufferedImage) {
+            buffered = (BufferedImage) image;
+        } else {
+            buffered = new BufferedImage(Math.max(1, image.getWidth(null)), Math.max(1, image.getHeight(null)),
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = buffered.createGraphics();
+            g2d.drawImage(image, 0, 0, null);
+            g2d.dispose();
+        }
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(buffered, "png", out);
+            byte[] bytes = out.toByteArray();
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 8; i++) {
+                etag.append(String.format("%02x", digest[i]));
+            }
+            return new EncodedImage(image, bytes, etag.append('"').toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Reject anything but GET with 405 Method Not Allowed
+     * @return True if the request is a GET
+     */
+    private static boolean checkGet(HttpExchange exchange) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET");
+        exchange.sendResponseHeaders(405, -1);
+        exchange.close();
+        return false;
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String parameterName = equals >= 0 ? parameter.substring(0, equals) : parameter;
+            if (parameterName.equals(name)) {
+                return URLDecoder.decode(equals >= 0 ? parameter.substring(equals + 1) : "", StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Main method to run the service
+     * @param args Optional port
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        try {
+            CatalogServer server = new CatalogServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+            server.start();
+            System.out.println("Catalog service listening on http://localhost:" + server.getPort() + "/api/styles");
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to start catalog service: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.furniture.server;
+
+import com.furniture.model.Chair;
+import com.furniture.model.Furniture;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+import com.furniture.patterns.PrototypeKey;
+
+/**
+ * Minimal JSON encoding for the catalog service
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Quote and escape a string
+     * @param value The string, or null
+     * @return The JSON string literal, or null
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Encode a furniture item with its type-specific attributes
+     * @param key The prototype key of the furniture
+     * @param furniture The furniture
+     * @return The JSON object
+     */
+    static String furniture(PrototypeKey key, Furniture furniture) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"key\":").append(quote(key.getName()))
+            .append(",\"name\":").append(quote(furniture.getName()))
+            .append(",\"description\":").append(quote(furniture.getDescription()))
+            .append(",\"price\":").append(furniture.getPrice());
+
+        if (furniture instanceof Chair) {
+            Chair chair = (Chair) furniture;
+            json.append(",\"type\":\"chair\",\"legs\":").append(chair.getNumberOfLegs())
+                .append(",\"armrests\":").append(chair.hasArmrests());
+        } else if (furniture instanceof Sofa) {
+            Sofa sofa = (Sofa) furniture;
+            json.append(",\"type\":\"sofa\",\"seats\":").append(sofa.getNumberOfSeats())
+                .append(",\"convertible\":").append(sofa.isConvertible());
+        } else if (furniture instanceof Table) {
+            Table table = (Table) furniture;
+            json.append(",\"type\":\"table\",\"legs\":").append(table.getNumberOfLegs())
+                .append(",\"surfaceArea\":").append(table.getSurfaceArea());
+        }
+        return json.append('}').toString();
+    }
+}
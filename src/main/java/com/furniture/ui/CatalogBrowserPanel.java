@@ -0,0 +1,232 @@
+package com.furniture.ui;
+
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureSpec;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+import com.furniture.utils.ImageCache;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Scrollable grid of every prototype in the registry.
+ * The grid is a JList with fixed cell sizes, so only the visible cells are laid out and
+ * painted, one renderer component is reused for all cells, and thumbnails are loaded
+ * in the background as cells come into view. Entries are listed off the Event Dispatch
+ * Thread from the catalog specs of lazy prototypes, or from the style and type of other
+ * lazy prototypes, so opening or scrolling the browser never creates a prototype.
+ */
+public final class CatalogBrowserPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+    
+    // Cell dimensions of the grid
+    private static final int CELL_WIDTH = 140;
+    private static final int CELL_HEIGHT = 100;
+    
+    // Maximum number of thumbnails kept in memory
+    private static final int THUMBNAIL_CAPACITY = 512;
+    
+    private final transient FurniturePrototypeRegistry prototypeRegistry;
+    private final JList<CatalogEntry> list;
+    private final JLabel countLabel;
+    private final transient ThumbnailLoader<CatalogEntry> thumbnailLoader;
+    
+    // The entry listing in progress, cancelled when a newer one starts
+    private transient SwingWorker<List<CatalogEntry>, Void> pendingRefresh;
+    
+    /**
+     * Create a catalog browser
+     * @param prototypeRegistry The registry whose prototypes are listed
+     * @param selectionListener Called with the key of each prototype the user selects
+     */
+    public CatalogBrowserPanel(FurniturePrototypeRegistry prototypeRegistry, Consumer<PrototypeKey> selectionListener) {
+        this.prototypeRegistry = prototypeRegistry;
+        setLayout(new BorderLayout(5, 5));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        
+        // Create the grid
+        list = new JList<>();
+        list.setLayoutOrientation(JList.HORIZONTAL_WRAP);
+        list.setVisibleRowCount(-1);
+        list.setFixedCellWidth(CELL_WIDTH);
+        list.setFixedCellHeight(CELL_HEIGHT);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        
+        thumbnailLoader = new ThumbnailLoader<>(list, this::loadThumbnail, THUMBNAIL_CAPACITY);
+        list.setCellRenderer(new CatalogCellRenderer());
+        
+        list.addListSelectionListener(e -> {
+            CatalogEntry entry = list.getSelectedValue();
+            if (!e.getValueIsAdjusting() && entry != null) {
+                selectionListener.accept(entry.getKey());
+            }
+        });
+        
+        // Create the header with item count and refresh button
+        countLabel = new JLabel();
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(e -> refresh());
+        
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.add(countLabel, BorderLayout.CENTER);
+        headerPanel.add(refreshButton, BorderLayout.EAST);
+        
+        add(headerPanel, BorderLayout.NORTH);
+        add(new JScrollPane(list), BorderLayout.CENTER);
+        
+        refresh();
+    }
+    
+    /**
+     * Reload the entries from the prototype registry in the background, picking up newly
+     * registered prototypes
+     */
+    public void refresh() {
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+        }
+        countLabel.setText("Loading...");
+        
+        pendingRefresh = new SwingWorker<List<CatalogEntry>, Void>() {
+            @Override
+            protected List<CatalogEntry> doInBackground() {
+                List<CatalogEntry> entries = new ArrayList<>();
+                for (PrototypeKey key : prototypeRegistry.getKeys()) {
+                    String name = prototypeRegistry.getName(key);
+                    if (name != null) {
+                        entries.add(new CatalogEntry(key, name));
+                    }
+                }
+                entries.sort(Comparator.comparing(CatalogEntry::toString).thenComparing(e -> e.getKey().getName()));
+                return entries;
+            }
+            
+            @Override
+            protected void done() {
+                // Ignore listings superseded by a newer refresh
+                if (isCancelled() || pendingRefresh != this) {
+                    return;
+                }
+                pendingRefresh = null;
+                
+                List<CatalogEntry> entries;
+                try {
+                    entries = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                    return;
+                }
+                thumbnailLoader.clear();
+                list.setListData(entries.toArray(new CatalogEntry[0]));
+                countLabel.setText(entries.size() + " items");
+            }
+        };
+        pendingRefresh.execute();
+    }
+    
+    /**
+     * Load the thumbnail of an entry on a thumbnail loader thread, without creating its prototype
+     * @return The thumbnail, or null if the prototype was removed or has not been created yet
+     */
+    private Image loadThumbnail(CatalogEntry entry) {
+        FurnitureSpec spec = prototypeRegistry.getPendingSpec(entry.getKey());
+        if (spec != null) {
+            return spec.getImage(ImageCache.THUMBNAIL_SIZE);
+        }
+        Furniture furniture = prototypeRegistry.getCloneIfCreated(entry.getKey());
+        return furniture != null ? furniture.getImage(ImageCache.THUMBNAIL_SIZE) : null;
+    }
+    
+    /**
+     * Stop listing entries and loading thumbnails; call when the browser is closed
+     */
+    public void dispose() {
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+            pendingRefresh = null;
+        }
+        thumbnailLoader.dispose();
+    }
+    
+    /**
+     * One prototype shown in the grid
+     */
+    private static class CatalogEntry {
+        private final PrototypeKey key;
+        private final String name;
+        
+        CatalogEntry(PrototypeKey key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+        
+        PrototypeKey getKey() {
+            return key;
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+    
+    /**
+     * Renders a thumbnail above the furniture name; one instance is reused for every cell
+     */
+    private class CatalogCellRenderer extends DefaultListCellRenderer {
+        private static final long serialVersionUID = 1L;
+        
+        // Reused icon whose image is swapped per cell
+        private final ThumbnailIcon thumbnailIcon = new ThumbnailIcon();
+        
+        CatalogCellRenderer() {
+            setHorizontalAlignment(CENTER);
+            setHorizontalTextPosition(CENTER);
+            setVerticalTextPosition(BOTTOM);
+        }
+        
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+            
+            CatalogEntry entry = (CatalogEntry) value;
+            thumbnailIcon.image = thumbnailLoader.getThumbnail(index, entry);
+            setIcon(thumbnailIcon);
+            return this;
+        }
+    }
+    
+    /**
+     * Icon that paints a thumbnail, or a placeholder while the thumbnail is loading
+     */
+    private static class ThumbnailIcon implements Icon {
+        private Image image;
+        
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            if (image != null) {
+                g.drawImage(image, x, y, null);
+            } else {
+                g.setColor(Color.LIGHT_GRAY);
+                g.drawRect(x, y, getIconWidth() - 1, getIconHeight() - 1);
+            }
+        }
+        
+        @Override
+        public int getIconWidth() {
+            return ImageCache.THUMBNAIL_SIZE;
+        }
+        
+        @Override
+        public int getIconHeight() {
+            return ImageCache.THUMBNAIL_SIZE;
+        }
+    }
+}
@@ -3,16 +3,32 @@ package com.furniture.ui;
 import com.furniture.factory.FurnitureFactory;
 import com.furniture.model.Chair;
 import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
 import com.furniture.model.Sofa;
 import com.furniture.model.Table;
+import com.furniture.patterns.FactoryListener;
 import com.furniture.patterns.FactoryManager;
 import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+import com.furniture.search.TextIndex;
+import com.furniture.utils.ImageCache;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main application class for the Furniture Designer Application
@@ -22,7 +38,34 @@ public class FurnitureDesignerApp extends JFrame {
     private final FurniturePrototypeRegistry prototypeRegistry;
     private final FurniturePanel furniturePanel;
     private FurnitureFactory currentFactory;
-    private String currentFurnitureType;
+    private FurnitureType currentFurnitureType;
+    
+    // Single background thread that creates furniture and prepares images
+    private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "furniture-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // The most recent load request, cancelled when a newer one starts
+    private FurnitureLoader pendingLoad;
+    
+    // Maximum number of search results listed
+    private static final int MAX_SEARCH_RESULTS = 20;
+    
+    // Full-text index over the names and descriptions of all prototypes
+    private final TextIndex searchIndex;
+    
+    // Catalog browser window, created on first use
+    private JDialog catalogDialog;
+    private CatalogBrowserPanel catalogBrowser;
+    
+    // Style radio buttons, rebuilt whenever a factory is added, replaced or removed
+    private final ButtonGroup styleGroup = new ButtonGroup();
+    private final JPanel styleRadioPanel = new JPanel(new GridLayout(0, 1));
+    
+    // Set while a rebuild of the style buttons is queued on the Event Dispatch Thread
+    private final AtomicBoolean styleRefreshPending = new AtomicBoolean();
     
     /**
      * Constructor to create the main application frame
@@ -37,6 +80,21 @@ public class FurnitureDesignerApp extends JFrame {
         // Initialize singleton instances
         factoryManager = FactoryManager.getInstance();
         prototypeRegistry = FurniturePrototypeRegistry.getInstance();
+        searchIndex = TextIndex.forRegistry();
+        
+        // Follow styles that plugins add, replace or remove while the application runs. Subscribe
+        // before the buttons are built so no change is missed; rebuilds run after this constructor.
+        factoryManager.addFactoryListener(new FactoryListener() {
+            @Override
+            public void factoryRegistered(FurnitureFactory factory) {
+                scheduleStyleRefresh();
+            }
+            
+            @Override
+            public void factoryRemoved(FurnitureFactory factory) {
+                scheduleStyleRefresh();
+            }
+        });
         
         // Create furniture panel
         furniturePanel = new FurniturePanel();
@@ -48,13 +106,8 @@ public class FurnitureDesignerApp extends JFrame {
         add(controlPanel, BorderLayout.WEST);
         add(furniturePanel, BorderLayout.CENTER);
         
-        // Set default factory and furniture type
-        Map<String, FurnitureFactory> factories = factoryManager.getAllFactories();
-        if (!factories.isEmpty()) {
-            currentFactory = factories.values().iterator().next();
-            currentFurnitureType = "chair";
-            updateFurnitureDisplay();
-        }
+        // Show the default style and furniture type selected in the control panel
+        updateFurnitureDisplay();
         
         // Display design patterns information
         JOptionPane.showMessageDialog(this,
@@ -82,36 +135,8 @@ public class FurnitureDesignerApp extends JFrame {
         stylePanel.setBorder(BorderFactory.createTitledBorder("Style"));
         
         // Create style radio buttons
-        ButtonGroup styleGroup = new ButtonGroup();
-        JPanel radioPanel = new JPanel(new GridLayout(0, 1));
-        
-        Map<String, FurnitureFactory> factories = factoryManager.getAllFactories();
-        for (Map.Entry<String, FurnitureFactory> entry : factories.entrySet()) {
-            String style = entry.getKey();
-            FurnitureFactory factory = entry.getValue();
-            
-            JRadioButton radioButton = new JRadioButton(factory.getStyleName());
-            radioButton.setActionCommand(style);
-            
-            radioButton.addActionListener(new ActionListener() {
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    currentFactory = factory;
-                    updateFurnitureDisplay();
-                }
-            });
-            
-            styleGroup.add(radioButton);
-            radioPanel.add(radioButton);
-            
-            // Select the first style by default
-            if (currentFactory == null) {
-                radioButton.setSelected(true);
-                currentFactory = factory;
-            }
-        }
-        
-        stylePanel.add(radioPanel, BorderLayout.CENTER);
+        rebuildStyleButtons();
+        stylePanel.add(styleRadioPanel, BorderLayout.CENTER);
         
         // Create furniture type selection panel
         JPanel typePanel = new JPanel(new BorderLayout());
@@ -124,12 +149,12 @@ public class FurnitureDesignerApp extends JFrame {
         JRadioButton chairButton = new JRadioButton("Chair");
         chairButton.setActionCommand("chair");
         chairButton.setSelected(true);
-        currentFurnitureType = "chair";
+        currentFurnitureType = FurnitureType.CHAIR;
         
         chairButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                currentFurnitureType = "chair";
+                currentFurnitureType = FurnitureType.CHAIR;
                 updateFurnitureDisplay();
             }
         });
@@ -140,7 +165,7 @@ public class FurnitureDesignerApp extends JFrame {
         sofaButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                currentFurnitureType = "sofa";
+                currentFurnitureType = FurnitureType.SOFA;
                 updateFurnitureDisplay();
             }
         });
@@ -151,7 +176,7 @@ public class FurnitureDesignerApp extends JFrame {
         tableButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                currentFurnitureType = "table";
+                currentFurnitureType = FurnitureType.TABLE;
                 updateFurnitureDisplay();
             }
         });
@@ -180,45 +205,175 @@ public class FurnitureDesignerApp extends JFrame {
         
         prototypePanel.add(cloneButton, BorderLayout.CENTER);
         
+        // Create catalog section
+        JPanel catalogPanel = new JPanel(new BorderLayout());
+        catalogPanel.setBorder(BorderFactory.createTitledBorder("Catalog"));
+        
+        JButton browseButton = new JButton("Browse Catalog");
+        browseButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                showCatalogBrowser();
+            }
+        });
+        
+        catalogPanel.add(browseButton, BorderLayout.CENTER);
+        
+        JPanel actionPanel = new JPanel(new GridLayout(0, 1));
+        actionPanel.add(prototypePanel);
+        actionPanel.add(catalogPanel);
+        
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(createSearchPanel(), BorderLayout.CENTER);
+        bottomPanel.add(actionPanel, BorderLayout.SOUTH);
+        
         // Add all sections to control panel
         controlPanel.add(stylePanel, BorderLayout.NORTH);
         controlPanel.add(typePanel, BorderLayout.CENTER);
-        controlPanel.add(prototypePanel, BorderLayout.SOUTH);
+        controlPanel.add(bottomPanel, BorderLayout.SOUTH);
         
         return controlPanel;
     }
     
+    /**
+     * Create a radio button for every registered style, keeping the selected style if it
+     * still exists and selecting the first style otherwise
+     * @return True if the current factory changed, e.g. because its style was replaced or removed
+     */
+    private boolean rebuildStyleButtons() {
+        styleRefreshPending.set(false);
+        Map<String, FurnitureFactory> factories = new TreeMap<>(factoryManager.getAllFactories());
+        
+        FurnitureFactory selected = currentFactory != null
+                ? factories.get(currentFactory.getStyleName().toLowerCase()) : null;
+        if (selected == null && !factories.isEmpty()) {
+            selected = factories.values().iterator().next();
+        }
+        
+        for (AbstractButton button : Collections.list(styleGroup.getElements())) {
+            styleGroup.remove(button);
+        }
+        styleRadioPanel.removeAll();
+        
+        for (Map.Entry<String, FurnitureFactory> entry : factories.entrySet()) {
+            FurnitureFactory factory = entry.getValue();
+            
+            JRadioButton radioButton = new JRadioButton(factory.getStyleName());
+            radioButton.setActionCommand(entry.getKey());
+            
+            radioButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    currentFactory = factory;
+                    updateFurnitureDisplay();
+                }
+            });
+            
+            styleGroup.add(radioButton);
+            styleRadioPanel.add(radioButton);
+            radioButton.setSelected(factory == selected);
+        }
+        styleRadioPanel.revalidate();
+        styleRadioPanel.repaint();
+        
+        boolean changed = selected != currentFactory;
+        currentFactory = selected;
+        return changed;
+    }
+    
+    /**
+     * Rebuild the style buttons on the Event Dispatch Thread; called on the thread that
+     * registers or removes a factory. A reload registering many factories rebuilds them once.
+     */
+    private void scheduleStyleRefresh() {
+        if (styleRefreshPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                if (rebuildStyleButtons()) {
+                    updateFurnitureDisplay();
+                }
+            });
+        }
+    }
+    
+    /**
+     * Create the search section: a search box whose results update as the user types
+     * @return The created search panel
+     */
+    private JPanel createSearchPanel() {
+        JPanel searchPanel = new JPanel(new BorderLayout(0, 5));
+        searchPanel.setBorder(BorderFactory.createTitledBorder("Search"));
+        
+        JTextField searchField = new JTextField();
+        DefaultListModel<TextIndex.Hit> resultModel = new DefaultListModel<>();
+        JList<TextIndex.Hit> resultList = new JList<>(resultModel);
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.setVisibleRowCount(4);
+        
+        // Searching the index takes well under a millisecond, so it runs on every keystroke
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateResults();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateResults();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateResults();
+            }
+            
+            private void updateResults() {
+                List<TextIndex.Hit> hits = searchIndex.search(searchField.getText(), MAX_SEARCH_RESULTS);
+                resultModel.clear();
+                resultModel.addAll(hits);
+            }
+        });
+        
+        // Enter shows the best result
+        searchField.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!resultModel.isEmpty()) {
+                    resultList.setSelectedIndex(0);
+                }
+            }
+        });
+        
+        resultList.addListSelectionListener(e -> {
+            TextIndex.Hit hit = resultList.getSelectedValue();
+            if (!e.getValueIsAdjusting() && hit != null) {
+                showSearchResult(hit);
+            }
+        });
+        
+        searchPanel.add(searchField, BorderLayout.NORTH);
+        searchPanel.add(new JScrollPane(resultList), BorderLayout.CENTER);
+        return searchPanel;
+    }
+    
+    /**
+     * Display a clone of the prototype found by a search
+     * @param hit The selected search result
+     */
+    private void showSearchResult(TextIndex.Hit hit) {
+        startLoad(new FurnitureLoader(hit.getKey()));
+    }
+    
     /**
      * Update the furniture display based on current selections
      */
     private void updateFurnitureDisplay() {
         if (currentFactory == null || currentFurnitureType == null) {
+            cancelPendingLoad();
             furniturePanel.clear();
             return;
         }
         
-        Furniture furniture = null;
-        String patternUsed = "Abstract Factory Pattern";
-        
-        switch (currentFurnitureType) {
-            case "chair":
-                furniture = currentFactory.createChair();
-                break;
-            case "sofa":
-                furniture = currentFactory.createSofa();
-                break;
-            case "table":
-                furniture = currentFactory.createTable();
-                break;
-        }
-        
-        furniturePanel.displayFurniture(furniture);
-        
-        // Show pattern information in the title
-        setTitle("Furniture Designer - " + 
-                 currentFactory.getStyleName() + " " + 
-                 capitalizeFirstLetter(currentFurnitureType) + 
-                 " (" + patternUsed + ")");
+        startLoad(new FurnitureLoader(currentFactory, currentFurnitureType, false));
     }
     
     /**
@@ -229,32 +384,172 @@ public class FurnitureDesignerApp extends JFrame {
             return;
         }
         
-        // Create a prototype key
-        String prototypeName = currentFactory.getStyleName().toLowerCase() + "_" + currentFurnitureType;
+        startLoad(new FurnitureLoader(currentFactory, currentFurnitureType, true));
+    }
+    
+    /**
+     * Start loading furniture in the background, cancelling any load still in progress
+     * @param loader The loader to start
+     */
+    private void startLoad(FurnitureLoader loader) {
+        cancelPendingLoad();
+        pendingLoad = loader;
+        loadExecutor.execute(loader);
+    }
+    
+    /**
+     * Cancel the pending load, if any, so its result is never displayed
+     */
+    private void cancelPendingLoad() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+            pendingLoad = null;
+        }
+    }
+    
+    /**
+     * Creates or clones furniture and prepares its image off the Event Dispatch Thread,
+     * then displays it on the Event Dispatch Thread
+     */
+    private class FurnitureLoader extends SwingWorker<Furniture, Void> {
+        private final FurnitureFactory factory;
+        private final FurnitureType type;
+        private final boolean clone;
+        private final long requestTime = System.nanoTime();
+        
+        // Key of a prototype selected by search or in the catalog, null for the current style and type
+        private final PrototypeKey selectedKey;
+        
+        FurnitureLoader(FurnitureFactory factory, FurnitureType type, boolean clone) {
+            this.factory = factory;
+            this.type = type;
+            this.clone = clone;
+            this.selectedKey = null;
+        }
         
-        // Check if prototype exists
-        if (prototypeRegistry.containsKey(prototypeName)) {
-            // Get a clone from the registry
-            Furniture clonedFurniture = prototypeRegistry.getClone(prototypeName);
+        FurnitureLoader(PrototypeKey selectedKey) {
+            this.factory = null;
+            this.type = null;
+            this.clone = true;
+            this.selectedKey = selectedKey;
+        }
+        
+        @Override
+        protected Furniture doInBackground() {
+            Furniture furniture;
+            if (selectedKey != null) {
+                furniture = prototypeRegistry.getClone(selectedKey);
+            } else {
+                furniture = clone ? cloneFurniture() : createFurniture();
+            }
             
-            // Display the cloned furniture
-            if (clonedFurniture != null) {
-                furniturePanel.displayFurniture(clonedFurniture);
+            // Decode and scale the image now so displaying it is cheap
+            if (furniture != null) {
+                furniture.getImage(ImageCache.DISPLAY_SIZE);
+            }
+            return furniture;
+        }
+        
+        private Furniture createFurniture() {
+            switch (type) {
+                case CHAIR:
+                    return factory.createChair();
+                case SOFA:
+                    return factory.createSofa();
+                case TABLE:
+                    return factory.createTable();
+                default:
+                    return null;
+            }
+        }
+        
+        private Furniture cloneFurniture() {
+            // Resolve the interned prototype key and get a clone from the registry
+            PrototypeKey prototypeKey = PrototypeKey.of(factory.getStyleName(), type);
+            return prototypeRegistry.getClone(prototypeKey);
+        }
+        
+        @Override
+        protected void done() {
+            // Ignore results of loads superseded by a newer request
+            if (isCancelled() || pendingLoad != this) {
+                return;
+            }
+            pendingLoad = null;
+            
+            Furniture furniture;
+            try {
+                furniture = get();
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+                return;
+            }
+            
+            if (selectedKey != null) {
+                if (furniture != null) {
+                    furniturePanel.displayFurniture(furniture, requestTime);
+                    setTitle("Furniture Designer - " + furniture.getName() + " (Prototype Pattern)");
+                }
+            } else if (!clone) {
+                furniturePanel.displayFurniture(furniture, requestTime);
+                
+                // Show pattern information in the title
+                setTitle("Furniture Designer - " + 
+                         factory.getStyleName() + " " + 
+                         capitalizeFirstLetter(type.getId()) + 
+                         " (Abstract Factory Pattern)");
+            } else if (furniture != null) {
+                // Display the cloned furniture
+                furniturePanel.displayFurniture(furniture, requestTime);
                 
                 // Update title to show prototype pattern
                 setTitle("Furniture Designer - " + 
-                         currentFactory.getStyleName() + " " + 
-                         capitalizeFirstLetter(currentFurnitureType) + 
+                         factory.getStyleName() + " " + 
+                         capitalizeFirstLetter(type.getId()) + 
                          " (Prototype Pattern)");
                 
-                JOptionPane.showMessageDialog(this, 
-                    "Cloned " + clonedFurniture.getName() + " using the Prototype pattern!", 
+                JOptionPane.showMessageDialog(FurnitureDesignerApp.this, 
+                    "Cloned " + furniture.getName() + " using the Prototype pattern!", 
                     "Prototype Cloned", 
                     JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(FurnitureDesignerApp.this, 
+                    "No prototype is registered for " + factory.getStyleName() + " " + type.getId() + ".", 
+                    "Prototype Not Found", 
+                    JOptionPane.WARNING_MESSAGE);
             }
         }
     }
     
+    /**
+     * Show the catalog browser, creating it on first use
+     */
+    private void showCatalogBrowser() {
+        if (catalogDialog == null) {
+            // Show the selected prototype in the designer, cloned and prepared off the EDT
+            catalogBrowser = new CatalogBrowserPanel(prototypeRegistry, key -> startLoad(new FurnitureLoader(key)));
+            
+            catalogDialog = new JDialog(this, "Furniture Catalog", false);
+            catalogDialog.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+            catalogDialog.add(catalogBrowser);
+            catalogDialog.setSize(640, 480);
+            catalogDialog.setLocationRelativeTo(this);
+            
+            // Stop the browser's background threads when it is closed; it is created again on next use
+            catalogDialog.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosed(WindowEvent e) {
+                    catalogBrowser.dispose();
+                    catalogBrowser = null;
+                    catalogDialog = null;
+                }
+            });
+        } else {
+            catalogBrowser.refresh();
+        }
+        catalogDialog.setVisible(true);
+    }
+    
     /**
      * Capitalize the first letter of a string
      * @param str The string to capitalize
@@ -279,12 +574,19 @@ public class FurnitureDesignerApp extends JFrame {
             e.printStackTrace();
         }
         
+        // Load the plugins on this thread before the frame asks for factories, so the
+        // Event Dispatch Thread never runs plugin code; then follow changes to the plugin directory
+        FactoryManager.getInstance().startPluginWatcher();
+        
         // Create and show the application frame
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
                 FurnitureDesignerApp app = new FurnitureDesignerApp();
                 app.setVisible(true);
+                
+                // Create the remaining prototypes while the user looks at the first frame
+                FurniturePrototypeRegistry.getInstance().warmUpInBackground();
             }
         });
     }
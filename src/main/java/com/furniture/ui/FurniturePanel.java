@@ -2,8 +2,11 @@ package com.furniture.ui;
 
 import com.furniture.model.Chair;
 import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
 import com.furniture.model.Sofa;
 import com.furniture.model.Table;
+import com.furniture.utils.ImageCache;
+import com.furniture.utils.LatencyStats;
 
 import javax.swing.*;
 import java.awt.*;
@@ -16,7 +19,20 @@ public class FurniturePanel extends JPanel {
     private final JLabel nameLabel;
     private final JLabel descriptionLabel;
     private final JLabel priceLabel;
+    private final JLabel firstDetailLabel;
+    private final JLabel secondDetailLabel;
     private final JPanel detailsPanel;
+    private final JLabel latencyLabel;
+    
+    // Currently displayed type and image, used to skip redundant layout and icon updates
+    private FurnitureType displayedType;
+    private Image displayedImage;
+    
+    // Time from a user request to the first paint showing its result
+    private final LatencyStats clickToPaint = new LatencyStats();
+    
+    // System.nanoTime() of the request awaiting its first paint, 0 if none
+    private long pendingRequestTime;
     
     /**
      * Constructor to create a furniture panel
@@ -31,9 +47,8 @@ public class FurniturePanel extends JPanel {
         imageLabel.setPreferredSize(new Dimension(200, 200));
         imageLabel.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
         
-        // Create details panel
-        detailsPanel = new JPanel();
-        detailsPanel.setLayout(new GridLayout(0, 1, 5, 5));
+        // Create details panel; as a validate root, text updates only re-lay out the details
+        detailsPanel = new ValidateRootPanel(new GridLayout(0, 1, 5, 5));
         
         // Create labels for furniture details
         nameLabel = new JLabel();
@@ -45,14 +60,63 @@ public class FurniturePanel extends JPanel {
         priceLabel = new JLabel();
         priceLabel.setFont(new Font("Arial", Font.BOLD, 14));
         
+        // Create the type-specific detail labels, reused for every furniture type
+        firstDetailLabel = new JLabel();
+        secondDetailLabel = new JLabel();
+        
         // Add labels to details panel
         detailsPanel.add(nameLabel);
         detailsPanel.add(descriptionLabel);
         detailsPanel.add(priceLabel);
+        detailsPanel.add(firstDetailLabel);
+        detailsPanel.add(secondDetailLabel);
+        
+        // Create label for the click-to-paint latency, updated after every measured paint;
+        // its own validate root keeps those updates from re-laying out the whole frame
+        latencyLabel = new JLabel(" ");
+        latencyLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        latencyLabel.setForeground(Color.GRAY);
+        JPanel latencyPanel = new ValidateRootPanel(new BorderLayout());
+        latencyPanel.add(latencyLabel, BorderLayout.CENTER);
         
         // Add components to panel
         add(imageLabel, BorderLayout.NORTH);
         add(detailsPanel, BorderLayout.CENTER);
+        add(latencyPanel, BorderLayout.SOUTH);
+    }
+    
+    /**
+     * Display furniture details and measure the latency until they are painted
+     * @param furniture The furniture to display
+     * @param requestTime The System.nanoTime() at which the user requested it
+     */
+    public void displayFurniture(Furniture furniture, long requestTime) {
+        pendingRequestTime = requestTime;
+        displayFurniture(furniture);
+        
+        // Paint even if nothing changed visually, e.g. the same item was selected again
+        repaint();
+    }
+    
+    /**
+     * Get the statistics of the latency from request to paint
+     * @return The click-to-paint latency statistics
+     */
+    public LatencyStats getClickToPaintLatency() {
+        return clickToPaint;
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        
+        if (pendingRequestTime != 0) {
+            clickToPaint.record(System.nanoTime() - pendingRequestTime);
+            pendingRequestTime = 0;
+            
+            // Update the label after this paint so it does not delay the measured frame
+            SwingUtilities.invokeLater(() -> latencyLabel.setText("Click to paint: " + clickToPaint));
+        }
     }
     
     /**
@@ -70,42 +134,49 @@ public class FurniturePanel extends JPanel {
         descriptionLabel.setText(furniture.getDescription());
         priceLabel.setText(String.format("Price: $%.2f", furniture.getPrice()));
         
-        // Set furniture image
-        ImageIcon icon = new ImageIcon(furniture.getImage());
-        Image image = icon.getImage().getScaledInstance(180, 180, Image.SCALE_SMOOTH);
-        imageLabel.setIcon(new ImageIcon(image));
-        
-        // Remove any additional details
-        for (int i = detailsPanel.getComponentCount() - 1; i >= 3; i--) {
-            detailsPanel.remove(i);
+        // Set furniture image, using the pre-scaled display variant
+        Image image = furniture.getImage(ImageCache.DISPLAY_SIZE);
+        if (image != displayedImage) {
+            imageLabel.setIcon(new ImageIcon(image));
+            displayedImage = image;
         }
         
-        // Add type-specific details
+        // Update type-specific details in place
         if (furniture instanceof Chair) {
             Chair chair = (Chair) furniture;
-            JLabel legsLabel = new JLabel(String.format("Legs: %d", chair.getNumberOfLegs()));
-            JLabel armrestsLabel = new JLabel(String.format("Armrests: %s", chair.hasArmrests() ? "Yes" : "No"));
-            
-            detailsPanel.add(legsLabel);
-            detailsPanel.add(armrestsLabel);
+            showDetails(FurnitureType.CHAIR,
+                    String.format("Legs: %d", chair.getNumberOfLegs()),
+                    String.format("Armrests: %s", chair.hasArmrests() ? "Yes" : "No"));
         } else if (furniture instanceof Table) {
             Table table = (Table) furniture;
-            JLabel legsLabel = new JLabel(String.format("Legs: %d", table.getNumberOfLegs()));
-            JLabel areaLabel = new JLabel(String.format("Surface Area: %.1f m²", table.getSurfaceArea()));
-            
-            detailsPanel.add(legsLabel);
-            detailsPanel.add(areaLabel);
+            showDetails(FurnitureType.TABLE,
+                    String.format("Legs: %d", table.getNumberOfLegs()),
+                    String.format("Surface Area: %.1f m²", table.getSurfaceArea()));
         } else if (furniture instanceof Sofa) {
             Sofa sofa = (Sofa) furniture;
-            JLabel seatsLabel = new JLabel(String.format("Seats: %d", sofa.getNumberOfSeats()));
-            JLabel convertibleLabel = new JLabel(String.format("Convertible: %s", sofa.isConvertible() ? "Yes" : "No"));
-            
-            detailsPanel.add(seatsLabel);
-            detailsPanel.add(convertibleLabel);
+            showDetails(FurnitureType.SOFA,
+                    String.format("Seats: %d", sofa.getNumberOfSeats()),
+                    String.format("Convertible: %s", sofa.isConvertible() ? "Yes" : "No"));
+        } else {
+            showDetails(null, "", "");
         }
+    }
+    
+    /**
+     * Update the type-specific detail labels, re-laying out the panel only when the type changes
+     * @param type The furniture type whose details are shown, or null for none
+     * @param firstDetail The text of the first detail label
+     * @param secondDetail The text of the second detail label
+     */
+    private void showDetails(FurnitureType type, String firstDetail, String secondDetail) {
+        firstDetailLabel.setText(firstDetail);
+        secondDetailLabel.setText(secondDetail);
         
-        revalidate();
-        repaint();
+        if (type != displayedType) {
+            displayedType = type;
+            revalidate();
+            repaint();
+        }
     }
     
     /**
@@ -116,13 +187,24 @@ public class FurniturePanel extends JPanel {
         descriptionLabel.setText("");
         priceLabel.setText("");
         imageLabel.setIcon(null);
+        displayedImage = null;
         
-        // Remove any additional details
-        for (int i = detailsPanel.getComponentCount() - 1; i >= 3; i--) {
-            detailsPanel.remove(i);
+        showDetails(null, "", "");
+    }
+    
+    /**
+     * Panel whose layout changes stop at itself instead of propagating to the frame
+     */
+    private static class ValidateRootPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        
+        ValidateRootPanel(LayoutManager layout) {
+            super(layout);
         }
         
-        revalidate();
-        repaint();
+        @Override
+        public boolean isValidateRoot() {
+            return true;
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
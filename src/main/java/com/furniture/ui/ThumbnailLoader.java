@@ -0,0 +1,114 @@
+package com.furniture.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Loads thumbnails of list items in the background.
+ * Loaded thumbnails are kept in a bounded LRU map, and the most recently requested
+ * thumbnails are loaded first so the cells currently on screen fill in before ones
+ * that have already been scrolled past. All methods must be called on the Event Dispatch Thread.
+ * @param <T> The type of the list items
+ */
+public class ThumbnailLoader<T> {
+    private final JList<?> list;
+    private final Function<? super T, ? extends Image> imageLoader;
+    private final Map<T, Image> thumbnails;
+    private final Set<T> pending = new HashSet<>();
+    private final ThreadPoolExecutor executor;
+    
+    /**
+     * Create a thumbnail loader
+     * @param list The list whose cells show the thumbnails
+     * @param imageLoader Loads the thumbnail of an item on a background thread; may return null
+     *                    if the item has no image, in which case it is not requested again
+     * @param capacity The maximum number of thumbnails kept
+     */
+    public ThumbnailLoader(JList<?> list, Function<? super T, ? extends Image> imageLoader, final int capacity) {
+        this.list = list;
+        this.imageLoader = imageLoader;
+        this.thumbnails = new LinkedHashMap<T, Image>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<T, Image> eldest) {
+                return size() > capacity;
+            }
+        };
+        
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LifoQueue(), runnable -> {
+            Thread thread = new Thread(runnable, "thumbnail-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Get the thumbnail of a list item, requesting it in the background if it is not loaded
+     * @param index The index of the list cell showing the item
+     * @param item The item to get the thumbnail of
+     * @return The thumbnail, or null if it is still loading
+     */
+    public Image getThumbnail(int index, T item) {
+        Image thumbnail = thumbnails.get(item);
+        if (thumbnail == null && pending.add(item) && !executor.isShutdown()) {
+            executor.execute(() -> {
+                Image loaded = imageLoader.apply(item);
+                SwingUtilities.invokeLater(() -> {
+                    // Items without an image stay pending so they are not requested on every paint
+                    if (loaded == null || !pending.remove(item)) {
+                        return;
+                    }
+                    thumbnails.put(item, loaded);
+                    
+                    // Repaint only the cell, if it is still showing this item
+                    Rectangle bounds = index < list.getModel().getSize() ? list.getCellBounds(index, index) : null;
+                    if (bounds != null) {
+                        list.repaint(bounds);
+                    }
+                });
+            });
+        }
+        return thumbnail;
+    }
+    
+    /**
+     * Forget all thumbnails and pending requests
+     */
+    public void clear() {
+        executor.getQueue().clear();
+        thumbnails.clear();
+        pending.clear();
+    }
+    
+    /**
+     * Stop the background threads
+     */
+    public void dispose() {
+        executor.shutdownNow();
+        thumbnails.clear();
+        pending.clear();
+    }
+    
+    /**
+     * Work queue that hands out the most recently added task first
+     */
+    private static class LifoQueue extends LinkedBlockingDeque<Runnable> {
+        private static final long serialVersionUID = 1L;
+        
+        @Override
+        public boolean offer(Runnable runnable) {
+            return offerFirst(runnable);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.furniture.utils;
+
+import com.furniture.factory.FurnitureFactory;
+import com.furniture.model.Chair;
+import com.furniture.model.Furniture;
+import com.furniture.model.FurnitureType;
+import com.furniture.model.Sofa;
+import com.furniture.model.Table;
+import com.furniture.patterns.FactoryManager;
+import com.furniture.patterns.FurniturePrototypeRegistry;
+import com.furniture.patterns.PrototypeKey;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+/**
+ * Headless command-line renderer for print-ready catalog sheets.
+ * Renders one sheet per furniture item of every factory style and every custom
+ * prototype, plus contact prints of all items on pages of a fixed size, in parallel
+ * across all cores.
+ * <p>
+ * Usage: {@code java -cp bin com.furniture.utils.CatalogSheetRenderer [output directory]}
+ */
+public class CatalogSheetRenderer {
+    // Default directory the sheets are written to
+    private static final String DEFAULT_OUTPUT_DIR = "catalog-sheets";
+
+    // Sheet layout
+    private static final int SHEET_WIDTH = 600;
+    private static final int SHEET_HEIGHT = 780;
+    private static final int SHEET_MARGIN = 44;
+
+    // Contact print layout
+    private static final int CONTACT_COLUMNS = 6;
+    private static final int CONTACT_THUMBNAIL_SIZE = 128;
+    private static final int CONTACT_CELL_WIDTH = 160;
+    private static final int CONTACT_CELL_HEIGHT = 160;
+    private static final int CONTACT_ROWS = 8;
+    private static final int CONTACT_PER_PAGE = CONTACT_COLUMNS * CONTACT_ROWS;
+
+    /**
+     * One furniture item to render
+     */
+    private static class Item {
+        private final PrototypeKey key;
+        private final Furniture furniture;
+        private String fileName;
+
+        Item(PrototypeKey key, Furniture furniture) {
+            this.key = key;
+            this.furniture = furniture;
+        }
+    }
+
+    /**
+     * Collect the items of every factory style and every custom prototype
+     * @return The items to render
+     */
+    private static List<Item> collectItems() {
+        List<Item> items = new ArrayList<>();
+        Map<String, FurnitureFactory> factories = FactoryManager.getInstance().getAllFactories();
+
+        // Every style and furniture type from the factories
+        for (Map.Entry<String, FurnitureFactory> entry : factories.entrySet()) {
+            FurnitureFactory factory = entry.getValue();
+            for (FurnitureType type : FurnitureType.values()) {
+                Furniture furniture;
+                switch (type) {
+                    case CHAIR:
+                        furniture = factory.createChair();
+                        break;
+                    case SOFA:
+                        furniture = factory.createSofa();
+                        break;
+                    default:
+                        furniture = factory.createTable();
+                        break;
+                }
+                items.add(new Item(PrototypeKey.of(entry.getKey(), type), furniture));
+            }
+        }
+
+        // Prototypes that do not belong to a factory style
+        FurniturePrototypeRegistry registry = FurniturePrototypeRegistry.getInstance();
+        for (PrototypeKey key : registry.getKeys()) {
+            if (key.getStyle() == null || !factories.containsKey(key.getStyle())) {
+                Furniture furniture = registry.getClone(key);
+                if (furniture != null) {
+                    items.add(new Item(key, furniture));
+                }
+            }
+        }
+
+        // Keys that differ only in characters a file name cannot hold get a numbered suffix,
+        // as do keys that would overwrite a contact print
+        items.sort((a, b) -> a.key.getName().compareTo(b.key.getName()));
+        Set<String> fileNames = new HashSet<>();
+        for (int page = 0; page < contactPrintPages(items.size()); page++) {
+            fileNames.add(contactPrintName(page));
+        }
+        for (Item item : items) {
+            String base = fileName(item.key);
+            item.fileName = base;
+            for (int n = 2; !fileNames.add(item.fileName); n++) {
+                item.fileName = base + "-" + n;
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Render all catalog sheets and the contact print
+     * @param outputDir The directory to write the PNG files to
+     * @return The number of sheets rendered
+     * @throws IOException If a file cannot be written
+     */
+    public static int renderAll(File outputDir) throws IOException {
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Cannot create output directory " + outputDir);
+        }
+
+        List<Item> items = collectItems();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Item item : items) {
+            tasks.add(() -> {
+                ImageIO.write(renderSheet(item.furniture), "png", new File(outputDir, item.fileName + ".png"));
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Rendering interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render catalog sheet", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int page = 0; page < contactPrintPages(items.size()); page++) {
+            List<Item> pageItems = items.subList(page * CONTACT_PER_PAGE, Math.min(items.size(), (page + 1) * CONTACT_PER_PAGE));
+            ImageIO.write(renderContactPrint(pageItems), "png", new File(outputDir, contactPrintName(page) + ".png"));
+        }
+        return items.size();
+    }
+
+    /**
+     * Render the catalog sheet of one furniture item
+     * @param furniture The furniture to render
+     * @return The rendered sheet
+     */
+    public static BufferedImage renderSheet(Furniture furniture) {
+        BufferedImage sheet = new BufferedImage(SHEET_WIDTH, SHEET_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = createGraphics(sheet);
+
+        // Image
+        int imageSize = SHEET_WIDTH - 2 * SHEET_MARGIN;
+        g2d.drawImage(furniture.getImage(imageSize), SHEET_MARGIN, SHEET_MARGIN, null);
+        g2d.setColor(Color.LIGHT_GRAY);
+        g2d.drawRect(SHEET_MARGIN, SHEET_MARGIN, imageSize, imageSize);
+
+        // Name and price
+        int y = SHEET_MARGIN + imageSize + 40;
+        g2d.setColor(Color.BLACK);
+        g2d.setFont(new Font("Arial", Font.BOLD, 22));
+        g2d.drawString(furniture.getName(), SHEET_MARGIN, y);
+        String price = String.format("$%.2f", furniture.getPrice());
+        g2d.drawString(price, SHEET_WIDTH - SHEET_MARGIN - g2d.getFontMetrics().stringWidth(price), y);
+
+        // Description and details
+        g2d.setFont(new Font("Arial", Font.PLAIN, 15));
+        g2d.drawString(furniture.getDescription(), SHEET_MARGIN, y + 30);
+        g2d.setColor(Color.DARK_GRAY);
+        g2d.drawString(describeDetails(furniture), SHEET_MARGIN, y + 56);
+
+        g2d.dispose();
+        return sheet;
+    }
+
+    /**
+     * Render one contact print page with a thumbnail and name of every item on it
+     */
+    private static BufferedImage renderContactPrint(List<Item> items) {
+        BufferedImage print = new BufferedImage(CONTACT_COLUMNS * CONTACT_CELL_WIDTH, CONTACT_ROWS * CONTACT_CELL_HEIGHT,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = createGraphics(print);
+        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
+
+        for (int i = 0; i < items.size(); i++) {
+            Furniture furniture = items.get(i).furniture;
+            int x = (i % CONTACT_COLUMNS) * CONTACT_CELL_WIDTH;
+            int y = (i / CONTACT_COLUMNS) * CONTACT_CELL_HEIGHT;
+
+            g2d.drawImage(furniture.getImage(CONTACT_THUMBNAIL_SIZE),
+                    x + (CONTACT_CELL_WIDTH - CONTACT_THUMBNAIL_SIZE) / 2, y + 6, null);
+            g2d.setColor(Color.BLACK);
+            g2d.drawString(furniture.getName(), x + 8, y + CONTACT_CELL_HEIGHT - 12);
+        }
+
+        g2d.dispose();
+        return print;
+    }
+
+    /**
+     * Create anti-aliased graphics on a white background
+     */
+    private static Graphics2D createGraphics(BufferedImage image) {
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        return g2d;
+    }
+
+    /**
+     * Describe the type-specific details of a furniture item
+     */
+    private static String describeDetails(Furniture furniture) {
+        if (furniture instanceof Chair) {
+            Chair chair = (Chair) furniture;
+            return String.format("Legs: %d    Armrests: %s", chair.getNumberOfLegs(), chair.hasArmrests() ? "Yes" : "No");
+        } else if (furniture instanceof Table) {
+            Table table = (Table) furniture;
+            return String.format("Legs: %d    Surface Area: %.1f m²", table.getNumberOfLegs(), table.getSurfaceArea());
+        } else if (furniture instanceof Sofa) {
+            Sofa sofa = (Sofa) furniture;
+            return String.format("Seats: %d    Convertible: %s", sofa.getNumberOfSeats(), sofa.isConvertible() ? "Yes" : "No");
+        }
+        return "";
+    }
+
+    /**
+     * Turn a prototype key into a file name, e.g. "art deco_chair" into "art-deco_chair"
+     */
+    private static String fileName(PrototypeKey key) {
+        return key.getName().replaceAll("[^a-z0-9_]+", "-");
+    }
+
+    /**
+     * Get the number of contact print pages for a number of items; an empty catalog still gets one
+     */
+    private static int contactPrintPages(int itemCount) {
+        return Math.max(1, (itemCount + CONTACT_PER_PAGE - 1) / CONTACT_PER_PAGE);
+    }
+
+    /**
+     * Get the file name, without extension, of a contact print page
+     * @param page The zero-based page index
+     */
+    private static String contactPrintName(int page) {
+        return "contact-print-" + (page + 1);
+    }
+
+    /**
+     * Main method to render the catalog sheets without a display
+     * @param args Optional output directory
+     */
+    public static void main(String[] args) {
+        // Must be set before any AWT class initializes its toolkit
+        System.setProperty("java.awt.headless", "true");
+
+        File outputDir = new File(args.length > 0 ? args[0] : DEFAULT_OUTPUT_DIR);
+        try {
+            long start = System.nanoTime();
+            int count = renderAll(outputDir);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            System.out.printf("Rendered %d catalog sheets to %s in %.2f s (%.1f items/second)%n",
+                    count, outputDir.getPath(), seconds, count / seconds);
+        } catch (IOException e) {
+            System.err.println("Failed to render catalog sheets: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.furniture.utils;
+
+import com.furniture.model.FurnitureCatalog;
+import com.furniture.model.FurnitureType;
+import com.furniture.patterns.CatalogSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Indexed file holding the encoded PNG of every catalog image, for serving images as they are.
+ * The file is memory-mapped when opened; an image is either written straight from the file
+ * to a channel with {@link FileChannel#transferTo}, which the operating system performs without
+ * copying through the Java heap when the target is a socket, or read as a direct slice of the
+ * mapping. Images are never decoded, and each entity tag is computed when the bundle is built.
+ * A bundle records the fingerprint of the catalog and its images, see
+ * {@link CatalogSnapshot#catalogFingerprint()}, and is rebuilt once either changes. A rebuilt
+ * bundle replaces the old file by an atomic rename, so other processes that have the old file
+ * mapped keep reading it unchanged.
+ * <p>
+ * Usage: {@code java -cp bin com.furniture.utils.ImageBundle [bundle file]}
+ */
+public final class ImageBundle implements Closeable {
+    // System property naming the bundle file
+    public static final String BUNDLE_PROPERTY = "furniture.imageBundle";
+
+    // Bundle file used when the property is not set
+    public static final String DEFAULT_BUNDLE_FILE = "images.bundle";
+
+    // File header: "FIB" followed by the format version
+    private static final int MAGIC = 0x46494201;
+
+    /**
+     * Location of one image in the bundle
+     */
+    private static class Entry {
+        private final long offset;
+        private final int length;
+        private final String etag;
+
+        Entry(long offset, int length, String etag) {
+            this.offset = offset;
+            this.length = length;
+            this.etag = etag;
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapping;
+    private final Map<String, Entry> entries;
+
+    private ImageBundle(FileChannel channel, MappedByteBuffer mapping, Map<String, Entry> entries) {
+        this.channel = channel;
+        this.mapping = mapping;
+        this.entries = entries;
+    }
+
+    /**
+     * Get the bundle file configured for this JVM
+     * @return The bundle file
+     */
+    public static File getDefaultFile() {
+        return new File(System.getProperty(BUNDLE_PROPERTY, DEFAULT_BUNDLE_FILE));
+    }
+
+    /**
+     * Write a bundle of the images of every style and furniture type in the catalog.
+     * The bundle is written to a temporary file that then replaces the target, so the target
+     * file is never modified in place while another JVM may have it mapped.
+     * @param file The file to write
+     * @param catalog The catalog whose images to bundle
+     * @throws IOException If an image cannot be read or the file cannot be written
+     */
+    public static void write(File file, FurnitureCatalog catalog) throws IOException {
+        Set<String> paths = new TreeSet<>();
+        for (FurnitureCatalog.Style style : catalog.getStyles()) {
+            for (FurnitureType type : FurnitureType.values()) {
+                paths.add(style.getSpec(type).getImagePath());
+            }
+        }
+
+        // Read the encoded images and build the index, with offsets relative to the data section
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        indexOut.writeInt(MAGIC);
+        indexOut.writeLong(CatalogSnapshot.catalogFingerprint());
+        indexOut.writeInt(paths.size());
+        for (String path : paths) {
+            byte[] png;
+            try (InputStream in = ImageBundle.class.getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new IOException("Image resource not found: " + path);
+                }
+                png = in.readAllBytes();
+            }
+            writeString(indexOut, path);
+            indexOut.writeLong(data.size());
+            indexOut.writeInt(png.length);
+            writeString(indexOut, etag(png));
+            data.write(png);
+        }
+
+        Path target = file.getAbsoluteFile().toPath();
+        Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(index.size());
+                index.writeTo(out);
+                data.writeTo(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Open a bundle
+     * @param file The bundle file
+     * @return The bundle, or null if it is missing, stale or unreadable
+     */
+    public static ImageBundle open(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long dataStart = Integer.BYTES + (long) mapping.getInt();
+            if (dataStart < Integer.BYTES || dataStart > channel.size()) {
+                throw new IOException("invalid index size");
+            }
+            if (mapping.getInt() != MAGIC || mapping.getLong() != CatalogSnapshot.catalogFingerprint()) {
+                System.err.println("Image bundle " + file + " is stale");
+                channel.close();
+                return null;
+            }
+
+            int count = mapping.getInt();
+            Map<String, Entry> entries = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String path = readString(mapping);
+                long offset = mapping.getLong();
+                int length = mapping.getInt();
+                String etag = readString(mapping);
+                // Offsets are relative to the data section; getBuffer() slices with an int offset
+                if (offset < 0 || length < 0 || dataStart + offset > Integer.MAX_VALUE) {
+                    throw new IOException("invalid location of image " + path);
+                }
+                offset += dataStart;
+                if (offset + length > channel.size()) {
+                    throw new IOException("truncated image " + path);
+                }
+                entries.put(path, new Entry(offset, length, etag));
+            }
+            return new ImageBundle(channel, mapping, Collections.unmodifiableMap(entries));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("Failed to read image bundle " + file + ": " + e);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Already failing; the first error is the one reported
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Open the configured bundle, building it first if it is missing or stale
+     * @return The bundle, or null if it cannot be built
+     */
+    public static ImageBundle openDefault() {
+        File file = getDefaultFile();
+        ImageBundle bundle = open(file);
+        if (bundle == null) {
+            try {
+                write(file, FurnitureCatalog.getDefault());
+                bundle = open(file);
+            } catch (IOException e) {
+                System.err.println("Failed to build image bundle " + file + ": " + e.getMessage());
+            }
+        }
+        return bundle;
+    }
+
+    /**
+     * Check whether the bundle contains an image
+     * @param path The classpath resource path of the image, e.g. "/images/modern/chair.png"
+     * @return True if the image is bundled
+     */
+    public boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    /**
+     * Get the paths of all bundled images
+     * @return The resource paths
+     */
+    public Set<String> getPaths() {
+        return entries.keySet();
+    }
+
+    /**
+     * Get the encoded size of an image
+     * @param path The resource path of the image
+     * @return The number of bytes, or -1 if the image is not bundled
+     */
+    public int getLength(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.length : -1;
+    }
+
+    /**
+     * Get the entity tag of an image, computed from its bytes when the bundle was built
+     * @param path The resource path of the image
+     * @return The quoted entity tag, or null if the image is not bundled
+     */
+    public String getETag(String path) {
+        Entry entry = entries.get(path);
+        return entry != null ? entry.etag : null;
+    }
+
+    /**
+     * Get the encoded bytes of an image as a read-only view of the mapped file
+     * @param path The resource path of the image
+     * @return A direct buffer positioned at the first byte, or null if the image is not bundled
+     */
+    public ByteBuffer getBuffer(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            return null;
+        }
+        return mapping.slice((int) entry.offset, entry.length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Write the encoded bytes of an image to a channel
+     * @param path The resource path of the image
+     * @param target The channel to write to
+     * @return The number of bytes written, or -1 if the image is not bundled
+     * @throws IOException If the channel cannot be written
+     */
+    public long transferTo(String path, WritableByteChannel target) throws IOException {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            return -1;
+        }
+        long written = 0;
+        while (written < entry.length) {
+            long count = channel.transferTo(entry.offset + written, entry.length - written, target);
+            if (count <= 0) {
+                throw new IOException("Channel accepted no bytes of " + path);
+            }
+            written += count;
+        }
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 8; i++) {
+                etag.append(String.format("%02x", digest[i]));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Build the bundle from the catalog
+     * @param args Optional bundle file
+     */
+    public static void main(String[] args) {
+        File file = args.length > 0 ? new File(args[0]) : getDefaultFile();
+        try {
+            write(file, FurnitureCatalog.getDefault());
+            System.out.println("Image bundle written: " + file + " (" + file.length() + " bytes)");
+        } catch (IOException e) {
+            System.err.println("Failed to write image bundle: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
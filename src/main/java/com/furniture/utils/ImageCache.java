@@ -0,0 +1,224 @@
+package com.furniture.utils;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+
+/**
+ * Singleton cache for furniture images loaded from the classpath.
+ * Images are decoded lazily on first request, kept in a bounded LRU map and
+ * held through soft references so the garbage collector can reclaim them
+ * under memory pressure. Scaled variants are produced once per size and
+ * cached alongside the originals.
+ * <p>
+ * Decoding and scaling run outside any lock, so threads loading different images
+ * proceed in parallel; threads asking for an image that is being loaded wait for
+ * that load instead of repeating it.
+ */
+public class ImageCache {
+    // Maximum number of decoded and scaled images kept in the cache
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    // Standard sizes for scaled variants, in pixels
+    public static final int THUMBNAIL_SIZE = 64;
+    public static final int DISPLAY_SIZE = 180;
+    public static final int LARGE_SIZE = 512;
+
+    // Singleton instance
+    private static final ImageCache INSTANCE = new ImageCache(DEFAULT_MAX_ENTRIES);
+
+    // Access-ordered map from resource path (plus "@size" for scaled variants) to image, guarded by this
+    private final Map<String, SoftReference<Image>> images;
+
+    // Images being decoded or scaled, by the same keys
+    private final Map<String, CompletableFuture<Image>> loading = new ConcurrentHashMap<>();
+
+    // Number of images decoded so far
+    private final AtomicLong decodeCount = new AtomicLong();
+
+    /**
+     * Create a cache with the given capacity
+     * @param maxEntries The maximum number of images to keep
+     */
+    ImageCache(final int maxEntries) {
+        images = new LinkedHashMap<String, SoftReference<Image>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SoftReference<Image>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Get the singleton instance
+     * @return The singleton instance
+     */
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the image for a classpath resource, decoding it on first use
+     * @param resourcePath The absolute classpath resource path, e.g. "/images/modern/chair.png"
+     * @return The decoded image, or a blank placeholder if the resource could not be read
+     */
+    public Image getImage(String resourcePath) {
+        return getImage(resourcePath, () -> decode(resourcePath));
+    }
+
+    /**
+     * Add an already decoded image, e.g. one restored from a snapshot, so it is not decoded again
+     * @param resourcePath The classpath resource path the image was decoded from
+     * @param image The decoded image
+     */
+    public synchronized void put(String resourcePath, Image image) {
+        images.put(resourcePath, new SoftReference<>(image));
+    }
+
+    /**
+     * Get an image scaled to fit a square of the given size, scaling it on first use
+     * @param resourcePath The absolute classpath resource path
+     * @param size The width and height of the bounding square in pixels
+     * @return The scaled image
+     */
+    public Image getImage(String resourcePath, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Image size must be positive: " + size);
+        }
+        return getImage(resourcePath + "@" + size, () -> scale(getImage(resourcePath), size));
+    }
+
+    /**
+     * Get a cached image, loading it if no other thread is loading it already
+     * @param key The cache key
+     * @param loader Decodes or scales the image, called without holding the lock
+     * @return The image
+     */
+    private Image getImage(String key, Supplier<Image> loader) {
+        Image image = getCached(key);
+        if (image != null) {
+            return image;
+        }
+
+        CompletableFuture<Image> load = new CompletableFuture<>();
+        CompletableFuture<Image> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            // Another thread may have stored the image just before this load was registered
+            image = getCached(key);
+            if (image == null) {
+                image = loader.get();
+                synchronized (this) {
+                    images.put(key, new SoftReference<>(image));
+                }
+            }
+            load.complete(image);
+            return image;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Look an image up and mark it as recently used
+     * @return The image, or null if it is not cached or was reclaimed
+     */
+    private synchronized Image getCached(String key) {
+        SoftReference<Image> ref = images.get(key);
+        return ref != null ? ref.get() : null;
+    }
+
+    /**
+     * Get the number of images decoded since the cache was created
+     * @return The decode count
+     */
+    public long getDecodeCount() {
+        return decodeCount.get();
+    }
+
+    /**
+     * Remove all cached images
+     */
+    public synchronized void clear() {
+        images.clear();
+    }
+
+    /**
+     * Scale an image to fit a square, keeping its aspect ratio.
+     * Downscaling halves the image repeatedly with bilinear filtering, which is
+     * much faster than Image.SCALE_SMOOTH at comparable quality.
+     * @param source The image to scale
+     * @param size The width and height of the bounding square
+     * @return The scaled image
+     */
+    private static BufferedImage scale(Image source, int size) {
+        int width = Math.max(1, source.getWidth(null));
+        int height = Math.max(1, source.getHeight(null));
+        double ratio = Math.min((double) size / width, (double) size / height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        Image current = source;
+        do {
+            // Never shrink by more than half in one step; enlarge in a single step
+            width = ratio < 1.0 ? Math.max(targetWidth, width / 2) : targetWidth;
+            height = ratio < 1.0 ? Math.max(targetHeight, height / 2) : targetHeight;
+
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, width, height, null);
+            g2d.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return (BufferedImage) current;
+    }
+
+    /**
+     * Decode an image from the classpath
+     * @param resourcePath The resource path to decode
+     * @return The decoded image or a placeholder
+     */
+    private Image decode(String resourcePath) {
+        decodeCount.incrementAndGet();
+        try (InputStream in = ImageCache.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalArgumentException("resource not found");
+            }
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                throw new IllegalArgumentException("unsupported image format");
+            }
+            return image;
+        } catch (Exception e) {
+            // Fallback image if resource not found
+            System.err.println("Failed to load image " + resourcePath + ": " + e.getMessage());
+            return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        }
+    }
+}
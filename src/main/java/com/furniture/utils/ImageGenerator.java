@@ -1,17 +1,55 @@
 package com.furniture.utils;
 
+import com.furniture.model.FurnitureCatalog;
+import com.furniture.model.FurnitureType;
+
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.imageio.ImageIO;
 
 /**
  * Utility class to generate sample furniture images
+ * <p>
+ * Usage: {@code java -cp bin com.furniture.utils.ImageGenerator [--force]}
+ * <br>With {@code --force} or {@code -Dfurniture.regenerateImages=true} every image is regenerated.
  */
 public class ImageGenerator {
+    // System property that regenerates every image, like the --force argument
+    public static final String FORCE_PROPERTY = "furniture.regenerateImages";
+    
+    // Hash of this class's bytecode, so any change to the drawing code regenerates every image
+    private static final String RENDERER_HASH = hashRenderer();
+    
+    // Directory the images are written to
+    private static final String RESOURCES_DIR = "resources";
+    
+    // Records the inputs and output of every generated image for incremental builds
+    private static final String MANIFEST_FILE = RESOURCES_DIR + "/.image-manifest";
     
     /**
      * Generate a chair image
@@ -19,6 +57,15 @@ public class ImageGenerator {
      * @param outputPath The path to save the image
      */
     public static void generateChairImage(String style, String outputPath) {
+        saveImage(renderChairImage(style), outputPath);
+    }
+    
+    /**
+     * Render a chair image
+     * @param style The furniture style
+     * @return The rendered image
+     */
+    private static BufferedImage renderChairImage(String style) {
         BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
         setupGraphics(g2d);
@@ -45,7 +92,7 @@ public class ImageGenerator {
         g2d.drawString(style + " Chair", 60, 30);
         
         g2d.dispose();
-        saveImage(image, outputPath);
+        return image;
     }
     
     /**
@@ -54,6 +101,15 @@ public class ImageGenerator {
      * @param outputPath The path to save the image
      */
     public static void generateSofaImage(String style, String outputPath) {
+        saveImage(renderSofaImage(style), outputPath);
+    }
+    
+    /**
+     * Render a sofa image
+     * @param style The furniture style
+     * @return The rendered image
+     */
+    private static BufferedImage renderSofaImage(String style) {
         BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
         setupGraphics(g2d);
@@ -84,7 +140,7 @@ public class ImageGenerator {
         g2d.drawString(style + " Sofa", 60, 30);
         
         g2d.dispose();
-        saveImage(image, outputPath);
+        return image;
     }
     
     /**
@@ -93,6 +149,15 @@ public class ImageGenerator {
      * @param outputPath The path to save the image
      */
     public static void generateTableImage(String style, String outputPath) {
+        saveImage(renderTableImage(style), outputPath);
+    }
+    
+    /**
+     * Render a table image
+     * @param style The furniture style
+     * @return The rendered image
+     */
+    private static BufferedImage renderTableImage(String style) {
         BufferedImage image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
         setupGraphics(g2d);
@@ -116,7 +181,7 @@ public class ImageGenerator {
         g2d.drawString(style + " Table", 60, 30);
         
         g2d.dispose();
-        saveImage(image, outputPath);
+        return image;
     }
     
     /**
@@ -181,30 +246,190 @@ public class ImageGenerator {
     }
     
     /**
-     * Generate all furniture images
+     * Render the image of a furniture type
+     * @param style The furniture style
+     * @param type The furniture type
+     * @return The rendered image
+     */
+    public static BufferedImage renderImage(String style, FurnitureType type) {
+        switch (type) {
+            case CHAIR:
+                return renderChairImage(style);
+            case SOFA:
+                return renderSofaImage(style);
+            case TABLE:
+                return renderTableImage(style);
+            default:
+                throw new IllegalArgumentException("Unknown furniture type: " + type);
+        }
+    }
+    
+    /**
+     * Generate the images of every style and furniture type in the catalog.
+     * Images are rendered in parallel, and images whose inputs and output file are
+     * unchanged since the last run (as recorded in the manifest) are skipped.
      */
     public static void generateAllImages() {
-        // Modern furniture
-        generateChairImage("Modern", "resources/images/modern/chair.png");
-        generateSofaImage("Modern", "resources/images/modern/sofa.png");
-        generateTableImage("Modern", "resources/images/modern/table.png");
+        generateAllImages(false);
+    }
+    
+    /**
+     * Generate the images of every style and furniture type in the catalog
+     * @param force True to regenerate every image, even if the manifest shows it is up to date
+     */
+    public static void generateAllImages(boolean force) {
+        FurnitureCatalog catalog = loadCatalog();
+        Properties previous = force ? new Properties() : loadManifest();
+        Map<String, String> current = new ConcurrentHashMap<>();
+        
+        // One task per style and furniture type
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (FurnitureCatalog.Style style : catalog.getStyles()) {
+            for (FurnitureType type : FurnitureType.values()) {
+                String outputPath = RESOURCES_DIR + style.getSpec(type).getImagePath();
+                tasks.add(() -> generateIfChanged(style.getName(), type, outputPath, previous, current));
+            }
+        }
+        
+        int generated = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    generated++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Image generation interrupted");
+        } catch (ExecutionException e) {
+            System.err.println("Failed to generate image: " + e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        
+        saveManifest(current);
+        System.out.println("Images generated: " + generated + ", up to date: " + (tasks.size() - generated));
+    }
+    
+    /**
+     * Render and save one image unless the manifest shows it is up to date
+     * @return True if the image was generated, false if it was skipped
+     */
+    private static boolean generateIfChanged(String style, FurnitureType type, String outputPath,
+                                             Properties previous, Map<String, String> current) {
+        String inputHash = sha256((RENDERER_HASH + "|" + style + "|" + type.getId()).getBytes(StandardCharsets.UTF_8));
+        File outputFile = new File(outputPath);
         
-        // Victorian furniture
-        generateChairImage("Victorian", "resources/images/victorian/chair.png");
-        generateSofaImage("Victorian", "resources/images/victorian/sofa.png");
-        generateTableImage("Victorian", "resources/images/victorian/table.png");
+        String recorded = previous.getProperty(outputPath);
+        if (recorded != null && outputFile.isFile() && recorded.equals(inputHash + ":" + hashFile(outputFile))) {
+            current.put(outputPath, recorded);
+            return false;
+        }
         
-        // Art Deco furniture
-        generateChairImage("Art Deco", "resources/images/artdeco/chair.png");
-        generateSofaImage("Art Deco", "resources/images/artdeco/sofa.png");
-        generateTableImage("Art Deco", "resources/images/artdeco/table.png");
+        saveImage(renderImage(style, type), outputPath);
+        String outputHash = hashFile(outputFile);
+        if (outputHash != null) {
+            current.put(outputPath, inputHash + ":" + outputHash);
+        }
+        return true;
+    }
+    
+    /**
+     * Load the catalog from the resources directory, falling back to the classpath
+     */
+    private static FurnitureCatalog loadCatalog() {
+        File catalogFile = new File(RESOURCES_DIR, "catalog.properties");
+        if (!catalogFile.isFile()) {
+            return FurnitureCatalog.getDefault();
+        }
+        try (InputStream in = new FileInputStream(catalogFile)) {
+            return FurnitureCatalog.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read furniture catalog " + catalogFile, e);
+        }
+    }
+    
+    /**
+     * Load the manifest of previously generated images
+     */
+    private static Properties loadManifest() {
+        Properties manifest = new Properties();
+        File manifestFile = new File(MANIFEST_FILE);
+        if (manifestFile.isFile()) {
+            try (InputStream in = new FileInputStream(manifestFile)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                // A missing or corrupt manifest only means every image is regenerated
+                System.err.println("Failed to read image manifest: " + e.getMessage());
+            }
+        }
+        return manifest;
+    }
+    
+    /**
+     * Save the manifest of generated images
+     */
+    private static void saveManifest(Map<String, String> entries) {
+        Properties manifest = new Properties();
+        manifest.putAll(entries);
+        try (OutputStream out = new FileOutputStream(MANIFEST_FILE)) {
+            manifest.store(out, "Generated furniture images: output path = input hash:output hash");
+        } catch (IOException e) {
+            System.err.println("Failed to save image manifest: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Hash the contents of a file
+     * @return The hex SHA-256 hash, or null if the file cannot be read
+     */
+    private static String hashFile(File file) {
+        try {
+            return sha256(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Hash the bytecode of this class, which holds all the drawing code
+     * @return The hex SHA-256 hash, or a random value if the class file cannot be read
+     */
+    private static String hashRenderer() {
+        try (InputStream in = ImageGenerator.class.getResourceAsStream("ImageGenerator.class")) {
+            if (in != null) {
+                return sha256(in.readAllBytes());
+            }
+        } catch (IOException e) {
+            // Fall through: without the bytecode no image can be proven up to date
+        }
+        System.err.println("Failed to read ImageGenerator class file, regenerating every image");
+        return UUID.randomUUID().toString();
+    }
+    
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     /**
      * Main method to run the image generator
-     * @param args Command line arguments
+     * @param args Optional "--force" to regenerate every image
      */
     public static void main(String[] args) {
-        generateAllImages();
+        boolean force = Boolean.getBoolean(FORCE_PROPERTY);
+        for (String arg : args) {
+            if (arg.equals("--force")) {
+                force = true;
+            } else {
+                System.err.println("Unknown argument: " + arg);
+                System.exit(1);
+            }
+        }
+        generateAllImages(force);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
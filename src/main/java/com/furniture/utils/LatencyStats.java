@@ -0,0 +1,44 @@
+package com.furniture.utils;
+
+/**
+ * Running statistics for a latency measured in nanoseconds
+ */
+public class LatencyStats {
+    private long count;
+    private long lastNanos;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Record one measurement
+     * @param nanos The measured latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        count++;
+        lastNanos = nanos;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getLastMillis() {
+        return lastNanos / 1_000_000.0;
+    }
+
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0.0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("last %.1f ms, mean %.1f ms, max %.1f ms (%d samples)",
+                getLastMillis(), getMeanMillis(), getMaxMillis(), count);
+    }
+}
@@ -0,0 +1,31 @@
+package com.furniture.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between catalog prices and exact amounts in cents
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * Convert a price to whole cents, rounding half up
+     * @param amount The price in dollars, e.g. 399.99
+     * @return The price in cents, e.g. 39999
+     */
+    public static long toCents(double amount) {
+        return BigDecimal.valueOf(amount).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Convert an amount in cents to dollars
+     * @param cents The amount in cents
+     * @return The exact amount in dollars
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}